@@ -0,0 +1,76 @@
+package com.hicms.benchmark;
+
+import com.hicms.security.UserDetailsCache;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Logins through the AuthenticationManager with the user details cache off and at its default TTL,
+ * single threaded and contended. authenticate includes the BCrypt check, which costs the same either
+ * way; loadUserByUsername is the per-request principal lookup on its own, the part the cache saves.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginBenchmark {
+    
+    // Rotated through so each one stays cached between its logins, well below the cache's max-size
+    private static final int LOGIN_USERS = 64;
+    private static final String PASSWORD = "benchmark";
+    
+    private final AtomicInteger next = new AtomicInteger();
+    
+    private AuthenticationManager authenticationManager;
+    private UserDetailsService userDetailsService;
+    
+    @Setup
+    public void setUp(UserCacheApplication application) {
+        // The seeded hashes are not BCrypt, which the login path requires
+        String hash = application.getBean(PasswordEncoder.class).encode(PASSWORD);
+        application.getBean(JdbcTemplate.class).update("UPDATE users SET password = ? WHERE user_id BETWEEN ? AND ?",
+                hash, SeededApplication.policyholderId(0), SeededApplication.policyholderId(LOGIN_USERS - 1));
+        application.getBean(UserDetailsCache.class).clear();
+        
+        authenticationManager = application.getBean(AuthenticationManager.class);
+        userDetailsService = application.getBean(UserDetailsService.class);
+    }
+    
+    @Benchmark
+    public Authentication authenticate() {
+        return authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(nextUsername(), PASSWORD));
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public Authentication authenticateContended() {
+        return authenticationManager.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated(nextUsername(), PASSWORD));
+    }
+    
+    @Benchmark
+    public UserDetails loadUserByUsername() {
+        return userDetailsService.loadUserByUsername(nextUsername());
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public UserDetails loadUserByUsernameContended() {
+        return userDetailsService.loadUserByUsername(nextUsername());
+    }
+    
+    private String nextUsername() {
+        return "holder" + Math.floorMod(next.getAndIncrement(), LOGIN_USERS);
+    }
+}
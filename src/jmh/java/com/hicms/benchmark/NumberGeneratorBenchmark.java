@@ -0,0 +1,74 @@
+package com.hicms.benchmark;
+
+import com.hicms.service.ClaimService;
+import com.hicms.service.PolicyService;
+import com.hicms.service.SupportTicketService;
+import org.openjdk.jmh.annotations.*;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Business number generation through the block allocating generator, single threaded and contended.
+ * Most calls are served from the allocated block; every block-size-th call goes to id_sequences.
+ * The legacy* benchmarks are the baseline: the former date pattern plus random UUID generator.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NumberGeneratorBenchmark {
+    
+    private ClaimService claimService;
+    private PolicyService policyService;
+    private SupportTicketService supportTicketService;
+    
+    @Setup
+    public void setUp(SeededApplication application) {
+        claimService = application.getBean(ClaimService.class);
+        policyService = application.getBean(PolicyService.class);
+        supportTicketService = application.getBean(SupportTicketService.class);
+    }
+    
+    @Benchmark
+    public String generateClaimNumber() {
+        return claimService.generateClaimNumber();
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public String generateClaimNumberContended() {
+        return claimService.generateClaimNumber();
+    }
+    
+    @Benchmark
+    public String generatePolicyNumber() {
+        return policyService.generatePolicyNumber();
+    }
+    
+    @Benchmark
+    public String generateTicketNumber() {
+        return supportTicketService.generateTicketNumber();
+    }
+    
+    @Benchmark
+    public String legacyClaimNumber() {
+        return legacyNumber("CLM");
+    }
+    
+    @Benchmark
+    @Threads(8)
+    public String legacyClaimNumberContended() {
+        return legacyNumber("CLM");
+    }
+    
+    // The generator this replaced, as it was in each service before the block allocator
+    private static String legacyNumber(String prefix) {
+        String datePart = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
+        String uniquePart = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
+        return prefix + "-" + datePart + "-" + uniquePart;
+    }
+}
@@ -0,0 +1,72 @@
+package com.hicms.benchmark;
+
+import com.hicms.dto.ClaimDTO;
+import com.hicms.dto.ClaimSearchCriteriaDTO;
+import com.hicms.dto.ClaimSearchPageDTO;
+import com.hicms.entity.ClaimStatus;
+import com.hicms.repository.ClaimRepository;
+import com.hicms.service.ClaimSearchService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The claim list, dashboard and search queries against the seeded database. Ids and dates are drawn
+ * per invocation so the results are not all served from the same cached pages.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Thread)
+public class RepositoryQueryBenchmark {
+    
+    private final SplittableRandom random = new SplittableRandom(7);
+    private final Pageable firstPage = PageRequest.of(0, 20);
+    
+    private ClaimRepository claimRepository;
+    private ClaimSearchService claimSearchService;
+    
+    @Setup
+    public void setUp(SeededApplication application) {
+        claimRepository = application.getBean(ClaimRepository.class);
+        claimSearchService = application.getBean(ClaimSearchService.class);
+    }
+    
+    @Benchmark
+    public List<ClaimDTO> findClaimDTOsByClaimant() {
+        return claimRepository.findClaimDTOsByClaimant(
+                SeededApplication.policyholderId(random.nextInt(SeededApplication.POLICYHOLDERS)));
+    }
+    
+    @Benchmark
+    public List<ClaimDTO> findClaimsFirstPageByStatus() {
+        return claimRepository.findClaimsFirstPage(ClaimStatus.PENDING, null, null, null, firstPage);
+    }
+    
+    @Benchmark
+    public List<ClaimDTO> findClaimsFirstPageByAdjuster() {
+        return claimRepository.findClaimsFirstPage(null, null, null,
+                SeededApplication.adjusterId(random.nextInt(SeededApplication.ADJUSTERS)), firstPage);
+    }
+    
+    @Benchmark
+    public List<Object[]> countClaimsGroupedByStatus() {
+        return claimRepository.countClaimsGroupedByStatus();
+    }
+    
+    @Benchmark
+    public ClaimSearchPageDTO searchClaimsByStatusAndDate() {
+        int dayOffset = random.nextInt(700);
+        return claimSearchService.searchClaims(ClaimSearchCriteriaDTO.builder()
+                .statuses(EnumSet.of(ClaimStatus.PENDING, ClaimStatus.UNDER_REVIEW))
+                .claimDateFrom(SeededApplication.claimDate(dayOffset))
+                .claimDateTo(SeededApplication.claimDate(dayOffset + 30))
+                .build());
+    }
+}
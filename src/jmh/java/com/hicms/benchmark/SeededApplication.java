@@ -0,0 +1,187 @@
+package com.hicms.benchmark;
+
+import com.hicms.HealthInsuranceClaimManagementApplication;
+import com.hicms.entity.ClaimStatus;
+import com.hicms.entity.PolicyEnrollment;
+import com.hicms.entity.PolicyStatus;
+import com.hicms.entity.Role;
+import com.hicms.service.PolicyCatalog;
+import com.hicms.service.PolicySearchIndex;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * The application running on an embedded H2 database (benchmark profile), seeded once per trial
+ * with volumes in the range of a regional insurer. Ids start at ID_BASE so they never collide
+ * with the default users created on startup.
+ */
+@State(Scope.Benchmark)
+public class SeededApplication {
+    
+    public static final int POLICYHOLDERS = 2000;
+    public static final int AGENTS = 40;
+    public static final int ADJUSTERS = 20;
+    public static final int POLICIES = 50;
+    public static final int ENROLLMENTS = 10_000;
+    public static final int CLAIMS = 100_000;
+    
+    static final long ID_BASE = 10_000L;
+    
+    private static final int BATCH_SIZE = 1000;
+    private static final LocalDate FIRST_CLAIM_DATE = LocalDate.of(2024, 1, 1);
+    private static final String[] REASONS = {
+            "Hospitalization", "Outpatient treatment", "Prescription medication",
+            "Diagnostic imaging", "Emergency room visit", "Physiotherapy"
+    };
+    
+    private ConfigurableApplicationContext context;
+    
+    @Setup(Level.Trial)
+    public void start() {
+        SpringApplication application = new SpringApplication(HealthInsuranceClaimManagementApplication.class);
+        application.setAdditionalProfiles("benchmark");
+        context = application.run(arguments());
+        
+        seed(context.getBean(JdbcTemplate.class));
+        
+        // Both were loaded on startup from the empty database
+        context.getBean(PolicyCatalog.class).refresh();
+        context.getBean(PolicySearchIndex.class).rebuild();
+    }
+    
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+    
+    /**
+     * Command line arguments for the application, overridden by states that vary a property
+     */
+    protected String[] arguments() {
+        return new String[0];
+    }
+    
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+    
+    public static long policyholderId(int index) {
+        return ID_BASE + index;
+    }
+    
+    public static long agentId(int index) {
+        return ID_BASE + POLICYHOLDERS + index;
+    }
+    
+    public static long adjusterId(int index) {
+        return ID_BASE + POLICYHOLDERS + AGENTS + index;
+    }
+    
+    public static long policyId(int index) {
+        return ID_BASE + index;
+    }
+    
+    public static LocalDate claimDate(int dayOffset) {
+        return FIRST_CLAIM_DATE.plusDays(dayOffset);
+    }
+    
+    private void seed(JdbcTemplate jdbcTemplate) {
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.now();
+        
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i < POLICYHOLDERS; i++) {
+            users.add(user(policyholderId(i), "holder" + i, "Holder " + surname(i), Role.USER, now));
+        }
+        for (int i = 0; i < AGENTS; i++) {
+            users.add(user(agentId(i), "agent" + i, "Agent " + surname(i), Role.AGENT, now));
+        }
+        for (int i = 0; i < ADJUSTERS; i++) {
+            users.add(user(adjusterId(i), "adjuster" + i, "Adjuster " + surname(i), Role.CLAIM_ADJUSTER, now));
+        }
+        batchInsert(jdbcTemplate, "INSERT INTO users (user_id, username, password, email, full_name, role, enabled, " +
+                "created_date) VALUES (?, ?, ?, ?, ?, ?, TRUE, ?)", users);
+        
+        List<Object[]> policies = new ArrayList<>();
+        for (int i = 0; i < POLICIES; i++) {
+            policies.add(new Object[]{policyId(i), String.format("POL-20240101-%06d", i),
+                    "Health Plan " + surname(i) + " " + (i + 1),
+                    "Covers hospitalization, outpatient treatment and prescriptions for plan tier " + (i % 5),
+                    BigDecimal.valueOf(50_000L + 10_000L * i), BigDecimal.valueOf(100L + 10L * i),
+                    12 * (1 + i % 3), (i % 10 == 9 ? PolicyStatus.INACTIVE : PolicyStatus.ACTIVE).name(),
+                    Date.valueOf(FIRST_CLAIM_DATE), adjusterId(0)});
+        }
+        batchInsert(jdbcTemplate, "INSERT INTO policies (policy_id, policy_number, policy_name, description, " +
+                "coverage_amount, premium_amount, duration_months, policy_status, created_date, created_by) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", policies);
+        
+        List<Object[]> enrollments = new ArrayList<>();
+        for (int i = 0; i < ENROLLMENTS; i++) {
+            LocalDate startDate = FIRST_CLAIM_DATE.plusDays(random.nextInt(365));
+            enrollments.add(new Object[]{ID_BASE + i, policyId(random.nextInt(POLICIES)),
+                    policyholderId(i % POLICYHOLDERS), agentId(random.nextInt(AGENTS)),
+                    Date.valueOf(startDate), Date.valueOf(startDate), Date.valueOf(startDate.plusYears(1)),
+                    PolicyEnrollment.EnrollmentStatus.ACTIVE.name(), Timestamp.valueOf(now)});
+        }
+        batchInsert(jdbcTemplate, "INSERT INTO policy_enrollments (enrollment_id, policy_id, policyholder_id, agent_id, " +
+                "enrollment_date, start_date, end_date, enrollment_status, created_date) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", enrollments);
+        
+        List<Object[]> claims = new ArrayList<>(BATCH_SIZE);
+        ClaimStatus[] statuses = ClaimStatus.values();
+        for (int i = 0; i < CLAIMS; i++) {
+            ClaimStatus status = statuses[random.nextInt(statuses.length)];
+            boolean assigned = status != ClaimStatus.PENDING || random.nextBoolean();
+            LocalDate claimDate = claimDate(random.nextInt(730));
+            claims.add(new Object[]{ID_BASE + i, String.format("CLM-20240101-%08d", i), policyId(random.nextInt(POLICIES)),
+                    policyholderId(random.nextInt(POLICYHOLDERS)), agentId(random.nextInt(AGENTS)),
+                    assigned ? adjusterId(random.nextInt(ADJUSTERS)) : null,
+                    BigDecimal.valueOf(random.nextInt(100, 2_000_000), 2),
+                    status == ClaimStatus.APPROVED ? BigDecimal.valueOf(random.nextInt(100, 1_000_000), 2) : null,
+                    Date.valueOf(claimDate), "Claim for " + REASONS[i % REASONS.length].toLowerCase() + " on " + claimDate,
+                    REASONS[i % REASONS.length], status.name(), Timestamp.valueOf(claimDate.atStartOfDay().plusSeconds(i))});
+            if (claims.size() == BATCH_SIZE) {
+                insertClaims(jdbcTemplate, claims);
+                claims.clear();
+            }
+        }
+        insertClaims(jdbcTemplate, claims);
+    }
+    
+    private static Object[] user(long userId, String username, String fullName, Role role, LocalDateTime now) {
+        // Never logged in with, the hash only has to satisfy the column
+        return new Object[]{userId, username, "{noop}benchmark", username + "@hicms.com", fullName, role.name(),
+                Timestamp.valueOf(now)};
+    }
+    
+    private static String surname(int index) {
+        String[] surnames = {"Smith", "Garcia", "Nguyen", "Okafor", "Kowalski", "Tanaka", "Silva", "Hansen"};
+        return surnames[index % surnames.length] + (index / surnames.length);
+    }
+    
+    private static void insertClaims(JdbcTemplate jdbcTemplate, List<Object[]> claims) {
+        jdbcTemplate.batchUpdate("INSERT INTO claims (claim_id, claim_number, policy_id, claimant_id, agent_id, adjuster_id, " +
+                "claim_amount, approved_amount, claim_date, description, reason, claim_status, created_date) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", claims);
+    }
+    
+    private static void batchInsert(JdbcTemplate jdbcTemplate, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
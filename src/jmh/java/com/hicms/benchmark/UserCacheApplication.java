@@ -0,0 +1,20 @@
+package com.hicms.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * SeededApplication started once per user details cache TTL: 0 turns the cache off, 300 is the default
+ */
+@State(Scope.Benchmark)
+public class UserCacheApplication extends SeededApplication {
+    
+    @Param({"0", "300"})
+    public long userCacheTtlSeconds;
+    
+    @Override
+    protected String[] arguments() {
+        return new String[]{"--app.security.user-cache.ttl-seconds=" + userCacheTtlSeconds};
+    }
+}
@@ -0,0 +1,108 @@
+package com.hicms.service.impl;
+
+import com.hicms.dto.ClaimDTO;
+import com.hicms.dto.PolicyEnrollmentDTO;
+import com.hicms.entity.*;
+import org.openjdk.jmh.annotations.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO conversion on the claim and enrollment list pages.
+ * The services are built without collaborators since conversion never uses them.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConversionBenchmark {
+    
+    @Param({"20", "100"})
+    private int listSize;
+    
+    private ClaimServiceImpl claimService;
+    private PolicyEnrollmentServiceImpl enrollmentService;
+    private Claim claim;
+    private List<Claim> claims;
+    private PolicyEnrollment enrollment;
+    
+    @Setup
+    public void setUp() {
+        claimService = new ClaimServiceImpl(null, null, null, null, null, null, null);
+        enrollmentService = new PolicyEnrollmentServiceImpl(null, null, null, null);
+        
+        Policy policy = Policy.builder()
+                .policyId(7L)
+                .policyNumber("POL-20260101-000007")
+                .policyName("Family Health Plus")
+                .coverageAmount(new BigDecimal("250000.00"))
+                .premiumAmount(new BigDecimal("420.00"))
+                .durationMonths(12)
+                .policyStatus(PolicyStatus.ACTIVE)
+                .build();
+        User claimant = user(101L, "Jane Policyholder", Role.USER);
+        User agent = user(11L, "Alex Agent", Role.AGENT);
+        User adjuster = user(21L, "Sam Adjuster", Role.CLAIM_ADJUSTER);
+        
+        claims = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+            claims.add(Claim.builder()
+                    .claimId(1000L + i)
+                    .claimNumber(String.format("CLM-20260101-%06d", i))
+                    .policy(policy)
+                    .claimant(claimant)
+                    .agent(i % 2 == 0 ? agent : null)
+                    .adjuster(i % 3 == 0 ? adjuster : null)
+                    .claimAmount(new BigDecimal("1250.50"))
+                    .claimDate(LocalDate.of(2026, 1, 1).plusDays(i))
+                    .description("Outpatient treatment and follow-up consultation")
+                    .reason("Hospitalization")
+                    .claimStatus(ClaimStatus.values()[i % ClaimStatus.values().length])
+                    .createdDate(LocalDateTime.of(2026, 1, 1, 9, 30).plusMinutes(i))
+                    .build());
+        }
+        claim = claims.get(0);
+        
+        enrollment = PolicyEnrollment.builder()
+                .enrollmentId(500L)
+                .policy(policy)
+                .policyholder(claimant)
+                .agent(agent)
+                .enrollmentDate(LocalDate.of(2026, 1, 1))
+                .startDate(LocalDate.of(2026, 1, 1))
+                .endDate(LocalDate.of(2027, 1, 1))
+                .enrollmentStatus(PolicyEnrollment.EnrollmentStatus.ACTIVE)
+                .build();
+    }
+    
+    private static User user(Long userId, String fullName, Role role) {
+        return User.builder()
+                .userId(userId)
+                .username("user" + userId)
+                .fullName(fullName)
+                .email("user" + userId + "@hicms.com")
+                .role(role)
+                .build();
+    }
+    
+    @Benchmark
+    public ClaimDTO claimConvertToDTO() {
+        return claimService.convertToDTO(claim);
+    }
+    
+    @Benchmark
+    public List<ClaimDTO> claimConvertToDTOList() {
+        return claimService.convertToDTOList(claims);
+    }
+    
+    @Benchmark
+    public PolicyEnrollmentDTO enrollmentConvertToDTO() {
+        return enrollmentService.convertToDTO(enrollment);
+    }
+}
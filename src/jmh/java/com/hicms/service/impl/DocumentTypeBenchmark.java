@@ -0,0 +1,38 @@
+package com.hicms.service.impl;
+
+import com.hicms.entity.DocumentType;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * File extension and document type resolution, run for every uploaded file
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DocumentTypeBenchmark {
+    
+    private final String[] filenames = {
+            "discharge-summary.PDF", "xray_2026-01-04.jpeg", "receipt.png",
+            "referral letter.docx", "invoice.doc", "scan", "archive.tar.gz"
+    };
+    
+    @Benchmark
+    public void getFileExtension(Blackhole blackhole) {
+        for (String filename : filenames) {
+            blackhole.consume(DocumentServiceImpl.getFileExtension(filename));
+        }
+    }
+    
+    @Benchmark
+    public void getDocumentType(Blackhole blackhole) {
+        for (String filename : filenames) {
+            DocumentType type = DocumentServiceImpl.getDocumentType(DocumentServiceImpl.getFileExtension(filename));
+            blackhole.consume(type);
+        }
+    }
+}
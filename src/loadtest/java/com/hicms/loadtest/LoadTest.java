@@ -0,0 +1,103 @@
+package com.hicms.loadtest;
+
+import com.hicms.HealthInsuranceClaimManagementApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end load test. Boots the application on an embedded database (loadtest profile), seeds it,
+ * and runs one virtual user per seeded account against the real endpoints over HTTP:
+ *
+ *   mvn -Ploadtest test-compile exec:exec -Dloadtest.args="--users=1000 --virtual-threads=true"
+ *
+ * Virtual users start evenly spread over the ramp-up and run on virtual threads whatever the server
+ * side setting is; requests started during the warmup are not recorded.
+ *
+ * To compare the two server modes, run once with --virtual-threads=false and once with
+ * --virtual-threads=true, each with its own --report, and diff the two reports. The report also
+ * lists every place a virtual thread blocked while pinned to its carrier (a JFR
+ * jdk.VirtualThreadPinned recording); the profile's -Djdk.tracePinnedThreads=short prints the
+ * same sites to the console as they happen. Sites in com.hicms.loadtest come from the virtual
+ * users themselves, which share the JVM with the server.
+ */
+@Slf4j
+public class LoadTest {
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        
+        SpringApplication application = new SpringApplication(HealthInsuranceClaimManagementApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        try (ConfigurableApplicationContext context =
+                     application.run("--spring.threads.virtual.enabled=" + options.virtualThreads())) {
+            LoadTestData data = new LoadTestSeeder(context).seed(options);
+            URI baseUri = URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort());
+            
+            LoadTestStatistics statistics;
+            PinnedThreadRecorder pinning = new PinnedThreadRecorder();
+            try (pinning) {
+                statistics = run(options, data, baseUri);
+            }
+            
+            LoadTestReport report = new LoadTestReport(options, statistics, pinning);
+            report.write(options.report());
+            statistics.endpoints().forEach((endpoint, endpointStatistics) -> log.info(
+                    "{}: {} ok, {} failed, {} errors, p50 {} ms, p99 {} ms", endpoint,
+                    endpointStatistics.succeeded(), endpointStatistics.failed(), endpointStatistics.errors(),
+                    endpointStatistics.latency().getValueAtPercentile(50) / 1000.0,
+                    endpointStatistics.latency().getValueAtPercentile(99) / 1000.0));
+            pinning.sites().forEach((site, siteStatistics) -> log.warn(
+                    "Virtual threads pinned {} times ({} ms in total) at {}", siteStatistics.count(),
+                    siteStatistics.pinnedMicros() / 1000.0, site));
+            log.info("Report written to {}", options.report().toAbsolutePath());
+        }
+    }
+    
+    private static LoadTestStatistics run(LoadTestOptions options, LoadTestData data, URI baseUri)
+            throws InterruptedException {
+        long startNanos = System.nanoTime();
+        long recordFromNanos = startNanos + options.warmup().toNanos();
+        long deadlineNanos = recordFromNanos + options.duration().toNanos();
+        LoadTestStatistics statistics = new LoadTestStatistics(recordFromNanos);
+        
+        // Shuffled so that every role is ramped up at the same pace
+        List<LoadTestData.Account> accounts = new ArrayList<>();
+        data.accounts().values().forEach(accounts::addAll);
+        Collections.shuffle(accounts, new Random(42));
+        
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        
+        log.info("Starting {} virtual users over {} s, recording {} s after a {} s warmup", accounts.size(),
+                options.rampUp().toSeconds(), options.duration().toSeconds(), options.warmup().toSeconds());
+        try (ExecutorService virtualUsers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < accounts.size(); i++) {
+                long startAtNanos = startNanos + options.rampUp().toNanos() * i / accounts.size();
+                VirtualUser virtualUser = new VirtualUser(client, baseUri, accounts.get(i), data, statistics,
+                        options.thinkTime(), deadlineNanos);
+                virtualUsers.submit(() -> {
+                    TimeUnit.NANOSECONDS.sleep(startAtNanos - System.nanoTime());
+                    virtualUser.run();
+                    return null;
+                });
+            }
+            // Closing the executor waits for every virtual user to pass the deadline
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,44 @@
+package com.hicms.loadtest;
+
+import com.hicms.entity.Role;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Accounts and ids seeded for a run, shared by all virtual users
+ */
+public record LoadTestData(
+        Map<Role, List<Account>> accounts,
+        // The policy each policyholder was seeded with an active enrollment in
+        Map<Long, Long> enrolledPolicies,
+        List<Long> policyIds,
+        // Claims waiting for review, each handed to a single adjuster
+        Queue<Long> pendingClaims,
+        // "policyholderId:policyId" pairs that are enrolled or being enrolled
+        Set<String> enrollments) {
+    
+    public record Account(long userId, String username, Role role) {
+    }
+    
+    public Account randomPolicyholder() {
+        List<Account> policyholders = accounts.get(Role.USER);
+        return policyholders.get(ThreadLocalRandom.current().nextInt(policyholders.size()));
+    }
+    
+    /**
+     * Picks a policy the policyholder is not enrolled in and reserves the pair, or returns null
+     * when a few random picks all collide
+     */
+    public Long reserveEnrollment(long policyholderId) {
+        for (int attempt = 0; attempt < 5; attempt++) {
+            Long policyId = policyIds.get(ThreadLocalRandom.current().nextInt(policyIds.size()));
+            if (enrollments.add(policyholderId + ":" + policyId)) {
+                return policyId;
+            }
+        }
+        return null;
+    }
+}
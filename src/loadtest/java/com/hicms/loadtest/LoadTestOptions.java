@@ -0,0 +1,51 @@
+package com.hicms.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Load test settings, given as --name=value program arguments (defaults in brackets):
+ * users [200], ramp-up-seconds [30], warmup-seconds [30], duration-seconds [120], think-time-ms [1000],
+ * background-claims [20000], virtual-threads [false] and report [target/loadtest/report.json]
+ */
+public record LoadTestOptions(
+        int users,
+        Duration rampUp,
+        Duration warmup,
+        Duration duration,
+        Duration thinkTime,
+        int backgroundClaims,
+        boolean virtualThreads,
+        Path report) {
+    
+    public static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            values.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        
+        LoadTestOptions options = new LoadTestOptions(
+                Integer.parseInt(values.getOrDefault("users", "200")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("ramp-up-seconds", "30"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup-seconds", "30"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration-seconds", "120"))),
+                Duration.ofMillis(Long.parseLong(values.getOrDefault("think-time-ms", "1000"))),
+                Integer.parseInt(values.getOrDefault("background-claims", "20000")),
+                Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false")),
+                Path.of(values.getOrDefault("report", "target/loadtest/report.json")));
+        
+        if (options.users() < LoadTestSeeder.ROLE_MIX.size()) {
+            throw new IllegalArgumentException("At least " + LoadTestSeeder.ROLE_MIX.size()
+                    + " users are needed to cover every role");
+        }
+        if (options.rampUp().compareTo(options.warmup()) > 0) {
+            throw new IllegalArgumentException("The ramp-up must end within the warmup");
+        }
+        return options;
+    }
+}
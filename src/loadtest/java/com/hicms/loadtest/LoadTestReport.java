@@ -0,0 +1,95 @@
+package com.hicms.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JSON report of a run. Keys are in a fixed order and numbers are rounded, so two reports can be
+ * compared with a plain diff.
+ */
+public class LoadTestReport {
+    
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+    
+    private final Map<String, Object> report = new LinkedHashMap<>();
+    
+    public LoadTestReport(LoadTestOptions options, LoadTestStatistics statistics, PinnedThreadRecorder pinning) {
+        Duration measured = options.duration();
+        Map<String, Object> run = new LinkedHashMap<>();
+        run.put("users", options.users());
+        run.put("rampUpSeconds", options.rampUp().toSeconds());
+        run.put("warmupSeconds", options.warmup().toSeconds());
+        run.put("durationSeconds", options.duration().toSeconds());
+        run.put("thinkTimeMs", options.thinkTime().toMillis());
+        run.put("backgroundClaims", options.backgroundClaims());
+        run.put("virtualThreads", options.virtualThreads());
+        report.put("run", run);
+        
+        Histogram total = new Histogram(3);
+        long[] totals = new long[3];
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        statistics.endpoints().forEach((endpoint, endpointStatistics) -> {
+            endpoints.put(endpoint, summary(endpointStatistics.latency(), endpointStatistics.succeeded(),
+                    endpointStatistics.failed(), endpointStatistics.errors(), measured));
+            total.add(endpointStatistics.latency());
+            totals[0] += endpointStatistics.succeeded();
+            totals[1] += endpointStatistics.failed();
+            totals[2] += endpointStatistics.errors();
+        });
+        report.put("total", summary(total, totals[0], totals[1], totals[2], measured));
+        report.put("endpoints", endpoints);
+        
+        // Over the whole run, warmup included: a pinned carrier is a finding whenever it happens
+        Map<String, Object> pinned = new LinkedHashMap<>();
+        pinned.put("total", pinning.total());
+        Map<String, Object> sites = new LinkedHashMap<>();
+        pinning.sites().forEach((site, siteStatistics) -> {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", siteStatistics.count());
+            summary.put("pinnedMillis", round(siteStatistics.pinnedMicros() / 1000.0));
+            sites.put(site, summary);
+        });
+        pinned.put("sites", sites);
+        report.put("pinnedVirtualThreads", pinned);
+    }
+    
+    public void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(path.toFile(), report);
+    }
+    
+    private static Map<String, Object> summary(Histogram latency, long succeeded, long failed, long errors,
+                                               Duration measured) {
+        long requests = succeeded + failed + errors;
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("requests", requests);
+        summary.put("succeeded", succeeded);
+        summary.put("failed", failed);
+        summary.put("errors", errors);
+        summary.put("throughputPerSecond", round(requests * 1000.0 / Math.max(measured.toMillis(), 1)));
+        
+        // Recorded in microseconds, reported in milliseconds
+        Map<String, Object> millis = new LinkedHashMap<>();
+        millis.put("mean", round(latency.getMean() / 1000.0));
+        for (double percentile : PERCENTILES) {
+            millis.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile)
+                    : String.valueOf(percentile).replace(".", "")), round(latency.getValueAtPercentile(percentile) / 1000.0));
+        }
+        millis.put("max", round(latency.getMaxValue() / 1000.0));
+        summary.put("latencyMillis", millis);
+        return summary;
+    }
+    
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,186 @@
+package com.hicms.loadtest;
+
+import com.hicms.entity.ClaimStatus;
+import com.hicms.entity.PolicyEnrollment;
+import com.hicms.entity.PolicyStatus;
+import com.hicms.entity.Role;
+import com.hicms.service.EnrollmentEligibilityIndex;
+import com.hicms.service.PolicyCatalog;
+import com.hicms.service.PolicySearchIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Seeds one account per virtual user plus policies, enrollments and a claim history, then brings
+ * the in-memory indexes that were loaded from the empty database up to date.
+ * Ids are left to the database so the application's own inserts never collide with them.
+ */
+@Slf4j
+public class LoadTestSeeder {
+    
+    public static final String PASSWORD = "loadtest123";
+    
+    // Share of the virtual users logged in with each role, in percent
+    static final Map<Role, Integer> ROLE_MIX = new LinkedHashMap<>();
+    
+    static {
+        ROLE_MIX.put(Role.USER, 70);
+        ROLE_MIX.put(Role.AGENT, 15);
+        ROLE_MIX.put(Role.CLAIM_ADJUSTER, 10);
+        ROLE_MIX.put(Role.ADMIN, 5);
+    }
+    
+    private static final int POLICIES = 50;
+    private static final int BATCH_SIZE = 1000;
+    private static final String[] REASONS = {
+            "Hospitalization", "Outpatient treatment", "Prescription medication",
+            "Diagnostic imaging", "Emergency room visit", "Physiotherapy"
+    };
+    
+    private final ApplicationContext context;
+    private final JdbcTemplate jdbcTemplate;
+    private final SplittableRandom random = new SplittableRandom(42);
+    
+    public LoadTestSeeder(ApplicationContext context) {
+        this.context = context;
+        this.jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+    
+    public LoadTestData seed(LoadTestOptions options) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        
+        // BCrypt is deliberately slow, every account shares one hash
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        List<Object[]> users = new ArrayList<>();
+        int assigned = 0;
+        for (Map.Entry<Role, Integer> share : ROLE_MIX.entrySet()) {
+            if (share.getKey() == Role.USER) {
+                continue;
+            }
+            int count = Math.max(1, options.users() * share.getValue() / 100);
+            addUsers(users, share.getKey(), count, passwordHash, now);
+            assigned += count;
+        }
+        addUsers(users, Role.USER, options.users() - assigned, passwordHash, now);
+        batchInsert("INSERT INTO users (username, password, email, full_name, role, enabled, created_date) " +
+                "VALUES (?, ?, ?, ?, ?, TRUE, ?)", users);
+        
+        Map<Role, List<LoadTestData.Account>> accounts = new EnumMap<>(Role.class);
+        jdbcTemplate.query("SELECT user_id, username, role FROM users WHERE username LIKE 'lt-%' ORDER BY user_id",
+                rs -> {
+                    Role role = Role.valueOf(rs.getString("role"));
+                    accounts.computeIfAbsent(role, key -> new ArrayList<>())
+                            .add(new LoadTestData.Account(rs.getLong("user_id"), rs.getString("username"), role));
+                });
+        long creatorId = accounts.get(Role.ADMIN).get(0).userId();
+        
+        List<Object[]> policies = new ArrayList<>();
+        for (int i = 0; i < POLICIES; i++) {
+            policies.add(new Object[]{String.format("POL-LT-%06d", i), "Load Test Health Plan " + (i + 1),
+                    "Covers hospitalization, outpatient treatment and prescriptions for plan tier " + (i % 5),
+                    BigDecimal.valueOf(50_000L + 10_000L * i), BigDecimal.valueOf(100L + 10L * i),
+                    12 * (1 + i % 3), PolicyStatus.ACTIVE.name(), Date.valueOf(today), creatorId});
+        }
+        batchInsert("INSERT INTO policies (policy_number, policy_name, description, coverage_amount, premium_amount, " +
+                "duration_months, policy_status, created_date, created_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", policies);
+        List<Long> policyIds = jdbcTemplate.queryForList(
+                "SELECT policy_id FROM policies WHERE policy_number LIKE 'POL-LT-%' ORDER BY policy_id", Long.class);
+        
+        List<LoadTestData.Account> policyholders = accounts.get(Role.USER);
+        List<LoadTestData.Account> agents = accounts.get(Role.AGENT);
+        List<LoadTestData.Account> adjusters = accounts.get(Role.CLAIM_ADJUSTER);
+        Map<Long, Long> enrolledPolicies = new HashMap<>();
+        Set<String> enrollments = ConcurrentHashMap.newKeySet();
+        List<Object[]> enrollmentRows = new ArrayList<>();
+        for (LoadTestData.Account policyholder : policyholders) {
+            Long policyId = policyIds.get(random.nextInt(policyIds.size()));
+            enrolledPolicies.put(policyholder.userId(), policyId);
+            enrollments.add(policyholder.userId() + ":" + policyId);
+            enrollmentRows.add(new Object[]{policyId, policyholder.userId(), pick(agents).userId(),
+                    Date.valueOf(today.minusMonths(1)), Date.valueOf(today.minusMonths(1)), Date.valueOf(today.plusMonths(11)),
+                    PolicyEnrollment.EnrollmentStatus.ACTIVE.name(), Timestamp.valueOf(now)});
+        }
+        batchInsert("INSERT INTO policy_enrollments (policy_id, policyholder_id, agent_id, enrollment_date, start_date, " +
+                "end_date, enrollment_status, created_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", enrollmentRows);
+        
+        List<Object[]> claims = new ArrayList<>();
+        for (int i = 0; i < options.backgroundClaims(); i++) {
+            LoadTestData.Account claimant = pick(policyholders);
+            ClaimStatus status = claimStatus();
+            LocalDate claimDate = today.minusDays(random.nextInt(365));
+            claims.add(new Object[]{String.format("CLM-LT-%08d", i), enrolledPolicies.get(claimant.userId()),
+                    claimant.userId(), random.nextBoolean() ? pick(agents).userId() : null,
+                    status == ClaimStatus.PENDING ? null : pick(adjusters).userId(),
+                    BigDecimal.valueOf(random.nextInt(10_000, 2_000_000), 2),
+                    status == ClaimStatus.APPROVED ? BigDecimal.valueOf(random.nextInt(100, 10_000), 2) : null,
+                    Date.valueOf(claimDate), "Claim for " + REASONS[i % REASONS.length].toLowerCase() + " on " + claimDate,
+                    REASONS[i % REASONS.length], status.name(), Timestamp.valueOf(claimDate.atTime(9, 0).plusSeconds(i))});
+        }
+        batchInsert("INSERT INTO claims (claim_number, policy_id, claimant_id, agent_id, adjuster_id, claim_amount, " +
+                "approved_amount, claim_date, description, reason, claim_status, created_date) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", claims);
+        
+        List<Long> pending = jdbcTemplate.queryForList("SELECT claim_id FROM claims WHERE claim_status = ? " +
+                "AND claim_number LIKE 'CLM-LT-%' ORDER BY claim_id", Long.class, ClaimStatus.PENDING.name());
+        
+        // Loaded on startup, before any of the rows above existed
+        context.getBean(PolicyCatalog.class).refresh();
+        context.getBean(PolicySearchIndex.class).rebuild();
+        context.getBean(EnrollmentEligibilityIndex.class).reconcile();
+        
+        log.info("Seeded {} users, {} policies, {} enrollments and {} claims ({} pending)",
+                users.size(), policyIds.size(), enrollmentRows.size(), claims.size(), pending.size());
+        return new LoadTestData(accounts, enrolledPolicies, policyIds, new ConcurrentLinkedQueue<>(pending), enrollments);
+    }
+    
+    private void addUsers(List<Object[]> users, Role role, int count, String passwordHash, LocalDateTime now) {
+        String prefix = "lt-" + role.name().toLowerCase().replace('_', '-') + "-";
+        for (int i = 0; i < count; i++) {
+            users.add(new Object[]{prefix + i, passwordHash, prefix + i + "@loadtest.hicms.com",
+                    "Load Test " + role.name().charAt(0) + role.name().substring(1).toLowerCase() + " " + i,
+                    role.name(), Timestamp.valueOf(now)});
+        }
+    }
+    
+    private ClaimStatus claimStatus() {
+        int roll = random.nextInt(100);
+        if (roll < 35) {
+            return ClaimStatus.PENDING;
+        } else if (roll < 50) {
+            return ClaimStatus.UNDER_REVIEW;
+        } else if (roll < 80) {
+            return ClaimStatus.APPROVED;
+        } else if (roll < 95) {
+            return ClaimStatus.REJECTED;
+        }
+        return ClaimStatus.CANCELLED;
+    }
+    
+    private LoadTestData.Account pick(List<LoadTestData.Account> accounts) {
+        return accounts.get(random.nextInt(accounts.size()));
+    }
+    
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.hicms.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram and outcome counts per endpoint. Requests started before the end of the
+ * warmup are not recorded.
+ */
+public class LoadTestStatistics {
+    
+    // Anything slower than a minute is recorded as a minute
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+    
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final long recordFromNanos;
+    
+    public LoadTestStatistics(long recordFromNanos) {
+        this.recordFromNanos = recordFromNanos;
+    }
+    
+    /**
+     * Records a completed request; endpoint is the method and path template, e.g. "GET /claims/review/{id}"
+     */
+    public void record(String endpoint, long startNanos, long endNanos, boolean success) {
+        if (startNanos < recordFromNanos) {
+            return;
+        }
+        Endpoint statistics = endpoints.computeIfAbsent(endpoint, key -> new Endpoint());
+        statistics.latency.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(endNanos - startNanos), MAX_LATENCY_MICROS));
+        (success ? statistics.succeeded : statistics.failed).increment();
+    }
+    
+    /**
+     * Records a request that got no response at all
+     */
+    public void recordError(String endpoint, long startNanos) {
+        if (startNanos < recordFromNanos) {
+            return;
+        }
+        endpoints.computeIfAbsent(endpoint, key -> new Endpoint()).errors.increment();
+    }
+    
+    public SortedMap<String, Endpoint> endpoints() {
+        return new TreeMap<>(endpoints);
+    }
+    
+    public static final class Endpoint {
+        
+        private final Histogram latency = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        
+        // Latencies in microseconds
+        public Histogram latency() {
+            return latency;
+        }
+        
+        public long succeeded() {
+            return succeeded.sum();
+        }
+        
+        public long failed() {
+            return failed.sum();
+        }
+        
+        public long errors() {
+            return errors.sum();
+        }
+    }
+}
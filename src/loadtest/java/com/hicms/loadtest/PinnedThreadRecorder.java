@@ -0,0 +1,81 @@
+package com.hicms.loadtest;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import java.time.Duration;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts jdk.VirtualThreadPinned events, i.e. virtual threads that blocked while pinned to their
+ * carrier, grouped by the first frame outside the JDK (the synchronized block or native call that
+ * held the carrier, e.g. in the JDBC driver or the connection pool).
+ */
+public class PinnedThreadRecorder implements AutoCloseable {
+    
+    private static final String EVENT = "jdk.VirtualThreadPinned";
+    
+    private final Map<String, Site> sites = new ConcurrentHashMap<>();
+    private final RecordingStream stream = new RecordingStream();
+    
+    public PinnedThreadRecorder() {
+        // Every event is a pinned park, however short, so nothing is filtered out
+        stream.enable(EVENT).withThreshold(Duration.ZERO).withStackTrace();
+        stream.onEvent(EVENT, this::record);
+        stream.startAsync();
+    }
+    
+    public long total() {
+        return sites.values().stream().mapToLong(site -> site.count.sum()).sum();
+    }
+    
+    public SortedMap<String, Site> sites() {
+        return new TreeMap<>(sites);
+    }
+    
+    /**
+     * Stops the recording once the buffered events have been handed to the counters
+     */
+    @Override
+    public void close() {
+        stream.stop();
+        stream.close();
+    }
+    
+    private void record(RecordedEvent event) {
+        Site site = sites.computeIfAbsent(site(event), key -> new Site());
+        site.count.increment();
+        site.pinnedMicros.add(event.getDuration().toNanos() / 1000);
+    }
+    
+    private static String site(RecordedEvent event) {
+        if (event.getStackTrace() == null) {
+            return "unknown";
+        }
+        for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+            String type = frame.getMethod().getType().getName();
+            if (!type.startsWith("java.") && !type.startsWith("jdk.") && !type.startsWith("sun.")) {
+                return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+            }
+        }
+        return "unknown";
+    }
+    
+    public static final class Site {
+        
+        private final LongAdder count = new LongAdder();
+        private final LongAdder pinnedMicros = new LongAdder();
+        
+        public long count() {
+            return count.sum();
+        }
+        
+        public long pinnedMicros() {
+            return pinnedMicros.sum();
+        }
+    }
+}
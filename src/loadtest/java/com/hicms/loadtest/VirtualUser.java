@@ -0,0 +1,285 @@
+package com.hicms.loadtest;
+
+import com.hicms.entity.ClaimStatus;
+import lombok.extern.slf4j.Slf4j;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * One logged in account working through its role's mix of pages and form posts until the deadline.
+ * Redirects are not followed, so each request is timed on its own; a post succeeded when it
+ * redirects to the page the controller uses for success.
+ */
+@Slf4j
+public class VirtualUser implements Runnable {
+    
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final String SESSION_COOKIE = "JSESSIONID";
+    private static final byte[] PDF_SIGNATURE = "%PDF-1.4\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] JPEG_SIGNATURE = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0};
+    
+    private final HttpClient client;
+    private final URI baseUri;
+    private final LoadTestData.Account account;
+    private final LoadTestData data;
+    private final LoadTestStatistics statistics;
+    private final Duration thinkTime;
+    private final long deadlineNanos;
+    
+    private String sessionId;
+    
+    public VirtualUser(HttpClient client, URI baseUri, LoadTestData.Account account, LoadTestData data,
+                       LoadTestStatistics statistics, Duration thinkTime, long deadlineNanos) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.account = account;
+        this.data = data;
+        this.statistics = statistics;
+        this.thinkTime = thinkTime;
+        this.deadlineNanos = deadlineNanos;
+    }
+    
+    @Override
+    public void run() {
+        try {
+            if (!login()) {
+                log.warn("Login failed for {}, virtual user stopped", account.username());
+                return;
+            }
+            while (System.nanoTime() < deadlineNanos) {
+                switch (account.role()) {
+                    case USER -> policyholderAction();
+                    case AGENT -> agentAction();
+                    case CLAIM_ADJUSTER -> adjusterAction();
+                    case ADMIN -> adminAction();
+                }
+                think();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    private boolean login() throws InterruptedException {
+        return postForm("POST /login", "/login",
+                form("username", account.username(), "password", LoadTestSeeder.PASSWORD), "/dashboard");
+    }
+    
+    private void policyholderAction() throws InterruptedException {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        if (roll < 30) {
+            get("GET /dashboard", "/dashboard");
+        } else if (roll < 60) {
+            get("GET /claims", "/claims");
+        } else if (roll < 80) {
+            submitClaim(account.userId(), null);
+        } else if (roll < 90) {
+            postForm("POST /support/create", "/support/create",
+                    form("subject", "Question about claim processing time",
+                            "issueDescription", "How long does it usually take before a submitted claim is reviewed?",
+                            "priority", "MEDIUM"),
+                    "/support");
+        } else {
+            enroll(account.userId(), null);
+        }
+    }
+    
+    private void agentAction() throws InterruptedException {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        if (roll < 35) {
+            get("GET /dashboard", "/dashboard");
+        } else if (roll < 70) {
+            get("GET /claims", "/claims");
+        } else if (roll < 85) {
+            LoadTestData.Account customer = data.randomPolicyholder();
+            enroll(customer.userId(), customer.userId());
+        } else {
+            LoadTestData.Account customer = data.randomPolicyholder();
+            submitClaim(customer.userId(), customer.userId());
+        }
+    }
+    
+    private void adjusterAction() throws InterruptedException {
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        Long claimId = roll < 40 ? data.pendingClaims().poll() : null;
+        if (claimId != null) {
+            // Open the review form, read it, then decide
+            get("GET /claims/review/{id}", "/claims/review/" + claimId);
+            think();
+            boolean approve = ThreadLocalRandom.current().nextInt(100) < 70;
+            postForm("POST /claims/review/{id}", "/claims/review/" + claimId,
+                    form("claimStatus", (approve ? ClaimStatus.APPROVED : ClaimStatus.REJECTED).name(),
+                            "approvedAmount", approve ? "100.00" : "",
+                            "remarks", approve ? "Covered treatment, approved" : "Not covered by the policy"),
+                    "/claims");
+        } else if (roll < 70) {
+            get("GET /dashboard", "/dashboard");
+        } else {
+            get("GET /claims", "/claims");
+        }
+    }
+    
+    private void adminAction() throws InterruptedException {
+        if (ThreadLocalRandom.current().nextBoolean()) {
+            get("GET /dashboard", "/dashboard");
+        } else {
+            get("GET /claims", "/claims");
+        }
+    }
+    
+    private void submitClaim(long claimantId, Long customerId) throws InterruptedException {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("policyId", String.valueOf(data.enrolledPolicies().get(claimantId)));
+        fields.put("claimAmount", String.format("%d.%02d", ThreadLocalRandom.current().nextInt(100, 5000),
+                ThreadLocalRandom.current().nextInt(100)));
+        fields.put("description", "Treatment costs after a visit to the emergency room, receipts attached");
+        fields.put("reason", "Emergency room visit");
+        if (customerId != null) {
+            fields.put("customerId", String.valueOf(customerId));
+        }
+        
+        // A scanned receipt and, half of the time, a photo of the prescription
+        Multipart multipart = new Multipart(fields);
+        multipart.addFile("documents", "receipt.pdf", "application/pdf", document(PDF_SIGNATURE, 40 * 1024));
+        if (ThreadLocalRandom.current().nextBoolean()) {
+            multipart.addFile("documents", "prescription.jpg", "image/jpeg", document(JPEG_SIGNATURE, 180 * 1024));
+        }
+        send("POST /claims/submit", request("/claims/submit")
+                .header("Content-Type", multipart.contentType())
+                .POST(HttpRequest.BodyPublishers.ofByteArray(multipart.finish())), "/claims");
+    }
+    
+    private void enroll(long policyholderId, Long customerId) throws InterruptedException {
+        Long policyId = data.reserveEnrollment(policyholderId);
+        if (policyId == null) {
+            return;
+        }
+        String body = customerId == null
+                ? form("policyId", String.valueOf(policyId))
+                : form("policyId", String.valueOf(policyId), "customerId", String.valueOf(customerId));
+        postForm("POST /enrollments/enroll", "/enrollments/enroll", body, "/enrollments");
+    }
+    
+    private void get(String endpoint, String path) throws InterruptedException {
+        send(endpoint, request(path).GET(), null);
+    }
+    
+    private boolean postForm(String endpoint, String path, String body, String successPath) throws InterruptedException {
+        return send(endpoint, request(path)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body)), successPath);
+    }
+    
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+        if (sessionId != null) {
+            request.header("Cookie", SESSION_COOKIE + "=" + sessionId);
+        }
+        return request;
+    }
+    
+    /**
+     * Sends the request and records it. Pages succeed with a 200; posts succeed when they
+     * redirect to successPath.
+     */
+    private boolean send(String endpoint, HttpRequest.Builder request, String successPath) throws InterruptedException {
+        long start = System.nanoTime();
+        HttpResponse<Void> response;
+        try {
+            response = client.send(request.build(), HttpResponse.BodyHandlers.discarding());
+        } catch (IOException e) {
+            statistics.recordError(endpoint, start);
+            log.debug("{} failed for {}: {}", endpoint, account.username(), e.toString());
+            return false;
+        }
+        long end = System.nanoTime();
+        
+        response.headers().allValues("Set-Cookie").stream()
+                .filter(cookie -> cookie.startsWith(SESSION_COOKIE + "="))
+                .findFirst()
+                .ifPresent(cookie -> sessionId = cookie.split(";", 2)[0].substring(SESSION_COOKIE.length() + 1));
+        
+        boolean success = successPath == null
+                ? response.statusCode() == 200
+                : response.statusCode() == 302 && redirectPath(response).filter(successPath::equals).isPresent();
+        statistics.record(endpoint, start, end, success);
+        return success;
+    }
+    
+    private static Optional<String> redirectPath(HttpResponse<?> response) {
+        return response.headers().firstValue("Location").map(location -> URI.create(location).getPath());
+    }
+    
+    private void think() throws InterruptedException {
+        long millis = thinkTime.toMillis();
+        if (millis > 0) {
+            // Spread around the mean so virtual users do not move in lockstep
+            Thread.sleep(ThreadLocalRandom.current().nextLong(millis / 2, millis * 3 / 2 + 1));
+        }
+    }
+    
+    private static String form(String... namesAndValues) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            fields.put(namesAndValues[i], namesAndValues[i + 1]);
+        }
+        return fields.entrySet().stream()
+                .map(field -> URLEncoder.encode(field.getKey(), StandardCharsets.UTF_8) + "="
+                        + URLEncoder.encode(field.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+    }
+    
+    /**
+     * Random content behind a file signature, so every upload is stored as a new blob
+     */
+    private static byte[] document(byte[] signature, int size) {
+        byte[] content = new byte[size];
+        ThreadLocalRandom.current().nextBytes(content);
+        System.arraycopy(signature, 0, content, 0, signature.length);
+        return content;
+    }
+    
+    private static final class Multipart {
+        
+        private final String boundary = "----hicms-loadtest-" + Long.toHexString(ThreadLocalRandom.current().nextLong());
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        
+        Multipart(Map<String, String> fields) {
+            fields.forEach((name, value) -> write("--" + boundary + "\r\n"
+                    + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n" + value + "\r\n"));
+        }
+        
+        void addFile(String name, String filename, String contentType, byte[] content) {
+            write("--" + boundary + "\r\n"
+                    + "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + filename + "\"\r\n"
+                    + "Content-Type: " + contentType + "\r\n\r\n");
+            body.writeBytes(content);
+            write("\r\n");
+        }
+        
+        String contentType() {
+            return "multipart/form-data; boundary=" + boundary;
+        }
+        
+        byte[] finish() {
+            write("--" + boundary + "--\r\n");
+            return body.toByteArray();
+        }
+        
+        private void write(String text) {
+            body.writeBytes(text.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.hicms.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executors for work that is fanned out off the request thread
+ */
+@Configuration
+public class ExecutorConfig {
+    
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    
+    @Bean
+    public AsyncTaskExecutor documentIoExecutor(
+            @Value("${app.document.upload.threads:4}") int threads,
+            @Value("${app.document.upload.queue-capacity:64}") int queueCapacity) {
+        // Back-pressure: when the queue is full the request thread writes the file itself
+        return boundedExecutor("document-io-", threads, queueCapacity, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+    
+    @Bean
+    public AsyncTaskExecutor dashboardExecutor(
+            @Value("${app.dashboard.sections.threads:16}") int threads,
+            @Value("${app.dashboard.sections.queue-capacity:256}") int queueCapacity) {
+        // A full queue fails the section at once, the dashboard shows its placeholder instead
+        return boundedExecutor("dashboard-", threads, queueCapacity, new ThreadPoolExecutor.AbortPolicy());
+    }
+    
+    @Bean
+    public AsyncTaskExecutor dashboardPushExecutor(
+            @Value("${app.dashboard.live.send-threads:4}") int threads) {
+        // Each subscriber has at most one send queued or running, so the subscriber count
+        // already bounds the queue and the push tick never has to wait for a slow browser
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("dashboard-push-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("dashboard-push-");
+        executor.initialize();
+        return executor;
+    }
+    
+    private AsyncTaskExecutor boundedExecutor(String threadNamePrefix, int threads, int queueCapacity,
+                                              RejectedExecutionHandler rejectionPolicy) {
+        if (virtualThreads) {
+            // One virtual thread per task; the limit bounds the load on the disk or database and
+            // blocks the submitting thread once reached, which is cheap on a virtual thread
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(threadNamePrefix);
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(threads);
+            return executor;
+        }
+        
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix(threadNamePrefix);
+        executor.setRejectedExecutionHandler(rejectionPolicy);
+        executor.initialize();
+        return executor;
+    }
+}
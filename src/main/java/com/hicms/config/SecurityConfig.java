@@ -1,5 +1,7 @@
 package com.hicms.config;
 
+import com.hicms.security.AccountChangeTracker;
+import com.hicms.security.AuthenticatedUserRefreshFilter;
 import com.hicms.security.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
@@ -13,6 +15,8 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
 import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 
 /**
@@ -25,6 +29,7 @@ import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
 public class SecurityConfig {
     
     private final CustomUserDetailsService userDetailsService;
+    private final AccountChangeTracker accountChangeTracker;
     
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -52,6 +57,9 @@ public class SecurityConfig {
                 // Public pages
                 .requestMatchers("/", "/home", "/login", "/register", "/css/**", "/js/**", "/images/**").permitAll()
                 
+                // Health checks and Prometheus scrapes, served on the management port
+                .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                
                 // Admin only
                 .requestMatchers("/admin/**").hasRole("ADMIN")
                 .requestMatchers("/policies/create", "/policies/edit/**", "/policies/delete/**").hasRole("ADMIN")
@@ -102,7 +110,11 @@ public class SecurityConfig {
             )
             .exceptionHandling(ex -> ex
                 .accessDeniedPage("/access-denied")
-            );
+            )
+            // Reload the session principal when the account was changed by an admin
+            .addFilterAfter(new AuthenticatedUserRefreshFilter(
+                    accountChangeTracker, userDetailsService, new HttpSessionSecurityContextRepository()),
+                    SecurityContextHolderFilter.class);
         
         return http.build();
     }
@@ -1,20 +1,25 @@
 package com.hicms.controller;
 
 import com.hicms.dto.ClaimDTO;
+import com.hicms.dto.ClaimPageDTO;
 import com.hicms.dto.ClaimReviewDTO;
+import com.hicms.dto.ClaimSearchCriteriaDTO;
+import com.hicms.dto.ClaimSearchPageDTO;
 import com.hicms.entity.*;
+import com.hicms.security.AuthenticatedUser;
 import com.hicms.service.*;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import java.util.List;
 
 /**
@@ -29,38 +34,36 @@ public class ClaimController {
     private final PolicyEnrollmentService enrollmentService;
     private final UserService userService;
     private final DocumentService documentService;
+    private final ClaimSearchService claimSearchService;
+    private final PolicyService policyService;
     
     @GetMapping
-    public String listClaims(@AuthenticationPrincipal UserDetails userDetails, Model model) {
-        User user = userService.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        List<Claim> claims;
-        
-        switch (user.getRole()) {
-            case ADMIN:
-                claims = claimService.findAllClaims();
-                break;
-            case AGENT:
-                claims = claimService.findClaimsByAgent(user.getUserId());
-                break;
-            case CLAIM_ADJUSTER:
-                claims = claimService.findClaimsByAdjuster(user.getUserId());
-                break;
-            default:
-                claims = claimService.findClaimsByClaimant(user.getUserId());
+    public String listClaims(@RequestParam(required = false) ClaimStatus status,
+                             @RequestParam(required = false) String after,
+                             @RequestParam(required = false) String before,
+                             @RequestParam(required = false) Integer size,
+                             @AuthenticationPrincipal AuthenticatedUser principal, Model model) {
+        ClaimPageDTO page;
+        try {
+            page = claimService.findClaimPage(principal.getRole(), principal.getUserId(), status, after, before, size);
+        } catch (IllegalArgumentException e) {
+            // A stale or edited cursor starts the listing over from the first page
+            model.addAttribute("errorMessage", e.getMessage());
+            page = claimService.findClaimPage(principal.getRole(), principal.getUserId(), status, null, null, size);
         }
         
-        model.addAttribute("claims", claimService.convertToDTOList(claims));
-        model.addAttribute("userRole", user.getRole());
+        model.addAttribute("claims", page.getClaims());
+        model.addAttribute("page", page);
+        model.addAttribute("selectedStatus", status);
+        model.addAttribute("statuses", ClaimStatus.values());
+        model.addAttribute("userRole", principal.getRole());
         return "claim/list";
     }
     
     @GetMapping("/pending")
     @PreAuthorize("hasAnyRole('ADMIN', 'CLAIM_ADJUSTER')")
     public String listPendingClaims(Model model) {
-        List<Claim> pendingClaims = claimService.findPendingClaims();
-        model.addAttribute("claims", claimService.convertToDTOList(pendingClaims));
+        model.addAttribute("claims", claimService.findPendingClaimDTOs());
         model.addAttribute("title", "Pending Claims");
         return "claim/list";
     }
@@ -68,12 +71,36 @@ public class ClaimController {
     @GetMapping("/unassigned")
     @PreAuthorize("hasAnyRole('ADMIN', 'CLAIM_ADJUSTER')")
     public String listUnassignedClaims(Model model) {
-        List<Claim> unassignedClaims = claimService.findUnassignedClaims();
-        model.addAttribute("claims", claimService.convertToDTOList(unassignedClaims));
+        model.addAttribute("claims", claimService.findUnassignedClaimDTOs());
         model.addAttribute("title", "Unassigned Claims");
         return "claim/list";
     }
     
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'CLAIM_ADJUSTER')")
+    public String searchClaims(@ModelAttribute("criteria") ClaimSearchCriteriaDTO criteria,
+                               HttpServletRequest request, Model model) {
+        // The first visit only shows the filter form
+        if (request.getQueryString() != null) {
+            try {
+                ClaimSearchPageDTO page = claimSearchService.searchClaims(criteria);
+                model.addAttribute("claims", page.getClaims());
+                model.addAttribute("page", page);
+                // Page links keep every filter and only change the page number
+                model.addAttribute("previousPageUrl", ServletUriComponentsBuilder.fromCurrentRequest()
+                        .replaceQueryParam("page", page.getPage() - 1).toUriString());
+                model.addAttribute("nextPageUrl", ServletUriComponentsBuilder.fromCurrentRequest()
+                        .replaceQueryParam("page", page.getPage() + 1).toUriString());
+            } catch (IllegalArgumentException e) {
+                model.addAttribute("errorMessage", e.getMessage());
+            }
+        }
+        model.addAttribute("statuses", ClaimStatus.values());
+        model.addAttribute("sortFields", ClaimSearchCriteriaDTO.SortField.values());
+        model.addAttribute("policies", policyService.findAllPolicies());
+        return "claim/search";
+    }
+    
     @GetMapping("/view/{id}")
     public String viewClaim(@PathVariable Long id, Model model) {
         Claim claim = claimService.findById(id)
@@ -89,20 +116,17 @@ public class ClaimController {
     
     @GetMapping("/submit")
     @PreAuthorize("hasAnyRole('USER', 'AGENT')")
-    public String submitClaimForm(@AuthenticationPrincipal UserDetails userDetails, Model model) {
-        User user = userService.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
+    public String submitClaimForm(@AuthenticationPrincipal AuthenticatedUser principal, Model model) {
         model.addAttribute("claim", new ClaimDTO());
-        model.addAttribute("userRole", user.getRole());
+        model.addAttribute("userRole", principal.getRole());
         
-        if (user.getRole() == Role.AGENT) {
+        if (principal.getRole() == Role.AGENT) {
             // Agent can submit claims for customers
             model.addAttribute("customers", userService.findUsersByRole(Role.USER));
         } else {
             // User can only submit claims for their active enrollments
             List<PolicyEnrollment> activeEnrollments = 
-                    enrollmentService.findActiveEnrollmentsByUser(user.getUserId());
+                    enrollmentService.findActiveEnrollmentsByUser(principal.getUserId());
             model.addAttribute("enrollments", enrollmentService.convertToDTOList(activeEnrollments));
         }
         
@@ -115,20 +139,19 @@ public class ClaimController {
                               BindingResult result,
                               @RequestParam(required = false) Long customerId,
                               @RequestParam(value = "documents", required = false) List<MultipartFile> documents,
-                              @AuthenticationPrincipal UserDetails userDetails,
+                              @AuthenticationPrincipal AuthenticatedUser principal,
                               RedirectAttributes redirectAttributes,
                               Model model) {
         
-        User currentUser = userService.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        User currentUser = userService.getReference(principal.getUserId());
         
         if (result.hasErrors()) {
-            model.addAttribute("userRole", currentUser.getRole());
-            if (currentUser.getRole() == Role.AGENT) {
+            model.addAttribute("userRole", principal.getRole());
+            if (principal.getRole() == Role.AGENT) {
                 model.addAttribute("customers", userService.findUsersByRole(Role.USER));
             } else {
                 List<PolicyEnrollment> activeEnrollments = 
-                        enrollmentService.findActiveEnrollmentsByUser(currentUser.getUserId());
+                        enrollmentService.findActiveEnrollmentsByUser(principal.getUserId());
                 model.addAttribute("enrollments", enrollmentService.convertToDTOList(activeEnrollments));
             }
             return "claim/submit";
@@ -139,7 +162,7 @@ public class ClaimController {
             User agent = null;
             Claim savedClaim;
             
-            if (currentUser.getRole() == Role.AGENT && customerId != null) {
+            if (principal.getRole() == Role.AGENT && customerId != null) {
                 // Agent submitting for customer
                 claimant = userService.findById(customerId)
                         .orElseThrow(() -> new RuntimeException("Customer not found"));
@@ -151,17 +174,21 @@ public class ClaimController {
                 savedClaim = claimService.submitClaim(claimDTO, currentUser);
             }
             
-            // Process uploaded documents
+            // Process uploaded documents - a failed attachment doesn't fail the whole claim submission
             if (documents != null && !documents.isEmpty()) {
-                for (MultipartFile file : documents) {
-                    if (!file.isEmpty()) {
-                        try {
-                            documentService.uploadDocument(savedClaim.getClaimId(), file, currentUser);
-                        } catch (Exception e) {
-                            // Log but continue - don't fail the whole claim submission
-                            System.err.println("Failed to upload document: " + e.getMessage());
-                        }
-                    }
+                List<String> failedFiles;
+                try {
+                    failedFiles = documentService.uploadDocuments(savedClaim.getClaimId(), documents, currentUser)
+                            .stream()
+                            .filter(upload -> !upload.isSuccess())
+                            .map(upload -> upload.getOriginalFileName() + " (" + upload.getErrorMessage() + ")")
+                            .toList();
+                } catch (Exception e) {
+                    failedFiles = List.of("all attachments (" + e.getMessage() + ")");
+                }
+                if (!failedFiles.isEmpty()) {
+                    redirectAttributes.addFlashAttribute("warningMessage",
+                            "Some documents could not be uploaded: " + String.join(", ", failedFiles));
                 }
             }
             
@@ -170,12 +197,12 @@ public class ClaimController {
             
         } catch (Exception e) {
             model.addAttribute("errorMessage", "Failed to submit claim: " + e.getMessage());
-            model.addAttribute("userRole", currentUser.getRole());
-            if (currentUser.getRole() == Role.AGENT) {
+            model.addAttribute("userRole", principal.getRole());
+            if (principal.getRole() == Role.AGENT) {
                 model.addAttribute("customers", userService.findUsersByRole(Role.USER));
             } else {
                 List<PolicyEnrollment> activeEnrollments = 
-                        enrollmentService.findActiveEnrollmentsByUser(currentUser.getUserId());
+                        enrollmentService.findActiveEnrollmentsByUser(principal.getUserId());
                 model.addAttribute("enrollments", enrollmentService.convertToDTOList(activeEnrollments));
             }
             return "claim/submit";
@@ -185,14 +212,17 @@ public class ClaimController {
     @PostMapping("/assign/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'CLAIM_ADJUSTER')")
     public String assignClaim(@PathVariable Long id,
-                               @AuthenticationPrincipal UserDetails userDetails,
+                               @AuthenticationPrincipal AuthenticatedUser principal,
                                RedirectAttributes redirectAttributes) {
         try {
-            User adjuster = userService.findByUsername(userDetails.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            User adjuster = userService.getReference(principal.getUserId());
             
-            claimService.assignAdjuster(id, adjuster);
-            redirectAttributes.addFlashAttribute("successMessage", "Claim assigned successfully!");
+            if (claimService.assignAdjuster(id, adjuster)) {
+                redirectAttributes.addFlashAttribute("successMessage", "Claim assigned successfully!");
+            } else {
+                redirectAttributes.addFlashAttribute("errorMessage",
+                        "Claim is no longer pending or is held by another adjuster");
+            }
             
         } catch (Exception e) {
             redirectAttributes.addFlashAttribute("errorMessage", "Failed to assign claim: " + e.getMessage());
@@ -219,13 +249,16 @@ public class ClaimController {
     @PreAuthorize("hasAnyRole('CLAIM_ADJUSTER', 'ADMIN')")
     public String reviewClaim(@PathVariable Long id,
                                @ModelAttribute("review") ClaimReviewDTO reviewDTO,
-                               @AuthenticationPrincipal UserDetails userDetails,
+                               @AuthenticationPrincipal AuthenticatedUser principal,
                                RedirectAttributes redirectAttributes) {
         try {
-            User adjuster = userService.findByUsername(userDetails.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            User adjuster = userService.getReference(principal.getUserId());
             
-            claimService.reviewClaim(id, reviewDTO, adjuster);
+            if (!claimService.reviewClaim(id, reviewDTO, adjuster)) {
+                redirectAttributes.addFlashAttribute("errorMessage",
+                        "Claim has already been reviewed or cancelled, or is held by another adjuster");
+                return "redirect:/claims/view/" + id;
+            }
             redirectAttributes.addFlashAttribute("successMessage", "Claim reviewed successfully!");
             return "redirect:/claims";
             
@@ -238,17 +271,14 @@ public class ClaimController {
     @GetMapping("/edit/{id}")
     @PreAuthorize("hasRole('USER')")
     public String editClaimForm(@PathVariable Long id,
-                                 @AuthenticationPrincipal UserDetails userDetails,
+                                 @AuthenticationPrincipal AuthenticatedUser principal,
                                  Model model,
                                  RedirectAttributes redirectAttributes) {
-        User user = userService.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
         Claim claim = claimService.findById(id)
                 .orElseThrow(() -> new RuntimeException("Claim not found"));
         
         // Verify user owns this claim
-        if (!claim.getClaimant().getUserId().equals(user.getUserId())) {
+        if (!claim.getClaimant().getUserId().equals(principal.getUserId())) {
             redirectAttributes.addFlashAttribute("errorMessage", "You can only edit your own claims");
             return "redirect:/claims";
         }
@@ -268,17 +298,14 @@ public class ClaimController {
     public String editClaim(@PathVariable Long id,
                             @Valid @ModelAttribute("claim") ClaimDTO claimDTO,
                             BindingResult result,
-                            @AuthenticationPrincipal UserDetails userDetails,
+                            @AuthenticationPrincipal AuthenticatedUser principal,
                             RedirectAttributes redirectAttributes,
                             Model model) {
-        User user = userService.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
         Claim claim = claimService.findById(id)
                 .orElseThrow(() -> new RuntimeException("Claim not found"));
         
         // Verify user owns this claim
-        if (!claim.getClaimant().getUserId().equals(user.getUserId())) {
+        if (!claim.getClaimant().getUserId().equals(principal.getUserId())) {
             redirectAttributes.addFlashAttribute("errorMessage", "You can only edit your own claims");
             return "redirect:/claims";
         }
@@ -294,7 +321,11 @@ public class ClaimController {
         }
         
         try {
-            claimService.updateClaim(id, claimDTO);
+            // Re-checked by the UPDATE itself in case the claim left PENDING since the check above
+            if (!claimService.updateClaim(id, claimDTO)) {
+                redirectAttributes.addFlashAttribute("errorMessage", "Only pending claims can be edited");
+                return "redirect:/claims/view/" + id;
+            }
             redirectAttributes.addFlashAttribute("successMessage", "Claim updated successfully!");
             return "redirect:/claims/view/" + id;
         } catch (Exception e) {
@@ -306,16 +337,13 @@ public class ClaimController {
     @PostMapping("/cancel/{id}")
     @PreAuthorize("hasRole('USER')")
     public String cancelClaim(@PathVariable Long id,
-                               @AuthenticationPrincipal UserDetails userDetails,
+                               @AuthenticationPrincipal AuthenticatedUser principal,
                                RedirectAttributes redirectAttributes) {
-        User user = userService.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
         Claim claim = claimService.findById(id)
                 .orElseThrow(() -> new RuntimeException("Claim not found"));
         
         // Verify user owns this claim
-        if (!claim.getClaimant().getUserId().equals(user.getUserId())) {
+        if (!claim.getClaimant().getUserId().equals(principal.getUserId())) {
             redirectAttributes.addFlashAttribute("errorMessage", "You can only cancel your own claims");
             return "redirect:/claims";
         }
@@ -327,7 +355,10 @@ public class ClaimController {
         }
         
         try {
-            claimService.updateClaimStatus(id, ClaimStatus.CANCELLED);
+            if (!claimService.updateClaimStatus(id, ClaimStatus.CANCELLED)) {
+                redirectAttributes.addFlashAttribute("errorMessage", "Only pending claims can be cancelled");
+                return "redirect:/claims/view/" + id;
+            }
             redirectAttributes.addFlashAttribute("successMessage", "Claim cancelled successfully!");
             return "redirect:/claims";
         } catch (Exception e) {
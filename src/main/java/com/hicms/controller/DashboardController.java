@@ -1,15 +1,23 @@
 package com.hicms.controller;
 
+import com.hicms.dto.ClaimDTO;
+import com.hicms.dto.DashboardStatisticsDTO;
 import com.hicms.entity.*;
+import com.hicms.security.AuthenticatedUser;
 import com.hicms.service.*;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Dashboard Controller - shows role-specific dashboards
@@ -24,130 +32,186 @@ public class DashboardController {
     private final PolicyEnrollmentService enrollmentService;
     private final ClaimService claimService;
     private final SupportTicketService ticketService;
+    private final DashboardStatisticsService statisticsService;
+    private final DashboardAssembler dashboardAssembler;
+    private final LiveDashboardCounters liveCounters;
+    
+    private static final int RECENT_ITEMS_LIMIT = 10;
+    
+    // Shown in place of a count whose section ran out of time
+    private static final String UNAVAILABLE = "\u2013";
     
     @GetMapping
-    public String dashboard(@AuthenticationPrincipal UserDetails userDetails, Model model) {
-        User user = userService.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        model.addAttribute("user", userService.convertToDTO(user));
+    public String dashboard(@AuthenticationPrincipal AuthenticatedUser principal, Model model) {
+        model.addAttribute("user", userService.convertToDTO(principal));
         
-        switch (user.getRole()) {
+        switch (principal.getRole()) {
             case ADMIN:
                 return adminDashboard(model);
             case AGENT:
-                return agentDashboard(user, model);
+                return agentDashboard(principal, model);
             case CLAIM_ADJUSTER:
-                return adjusterDashboard(user, model);
+                return adjusterDashboard(principal, model);
             case USER:
             default:
-                return userDashboard(user, model);
+                return userDashboard(principal, model);
         }
     }
     
+    @PostMapping("/statistics/refresh")
+    @PreAuthorize("hasRole('ADMIN')")
+    public String refreshStatistics() {
+        statisticsService.refreshStatistics();
+        return "redirect:/dashboard";
+    }
+    
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'CLAIM_ADJUSTER')")
+    @ResponseBody
+    public SseEmitter streamCounters() {
+        return liveCounters.subscribe();
+    }
+    
     private String adminDashboard(Model model) {
+        DashboardStatisticsDTO statistics = statisticsService.getStatistics();
+        model.addAttribute("statistics", statistics);
+        
         // Policy statistics
-        List<Policy> allPolicies = policyService.findAllPolicies();
-        model.addAttribute("totalPolicies", allPolicies.size());
-        model.addAttribute("activePolicies", policyService.findActivePolicies().size());
+        model.addAttribute("totalPolicies", statistics.getTotalPolicies());
+        model.addAttribute("activePolicies", statistics.getPolicyCount(PolicyStatus.ACTIVE));
         
         // Claim statistics
-        model.addAttribute("totalClaims", claimService.findAllClaims().size());
-        model.addAttribute("pendingClaims", claimService.countClaimsByStatus(ClaimStatus.PENDING));
-        model.addAttribute("approvedClaims", claimService.countClaimsByStatus(ClaimStatus.APPROVED));
-        model.addAttribute("rejectedClaims", claimService.countClaimsByStatus(ClaimStatus.REJECTED));
+        model.addAttribute("totalClaims", statistics.getTotalClaims());
+        model.addAttribute("pendingClaims", statistics.getClaimCount(ClaimStatus.PENDING));
+        model.addAttribute("approvedClaims", statistics.getClaimCount(ClaimStatus.APPROVED));
+        model.addAttribute("rejectedClaims", statistics.getClaimCount(ClaimStatus.REJECTED));
         
         // User statistics
-        model.addAttribute("totalUsers", userService.findAllUsers().size());
-        model.addAttribute("totalAgents", userService.findUsersByRole(Role.AGENT).size());
-        model.addAttribute("totalAdjusters", userService.findUsersByRole(Role.CLAIM_ADJUSTER).size());
+        model.addAttribute("totalUsers", statistics.getTotalUsers());
+        model.addAttribute("totalAgents", statistics.getUserCount(Role.AGENT));
+        model.addAttribute("totalAdjusters", statistics.getUserCount(Role.CLAIM_ADJUSTER));
         
         // Support ticket statistics
-        model.addAttribute("openTickets", ticketService.countTicketsByStatus(TicketStatus.OPEN));
+        model.addAttribute("openTickets", statistics.getTicketCount(TicketStatus.OPEN));
         
         // Recent data
-        model.addAttribute("recentClaims", claimService.findPendingClaims());
-        model.addAttribute("recentTickets", ticketService.findOpenTickets());
+        model.addAttribute("recentClaims", claimService.findRecentPendingClaimDTOs(RECENT_ITEMS_LIMIT));
+        model.addAttribute("recentTickets", ticketService.findRecentOpenTickets(RECENT_ITEMS_LIMIT));
         
         return "dashboard/admin";
     }
     
-    private String agentDashboard(User agent, Model model) {
-        // Agent's enrollments
-        List<PolicyEnrollment> myEnrollments = enrollmentService.findByAgent(agent.getUserId());
-        model.addAttribute("myEnrollments", enrollmentService.convertToDTOList(myEnrollments));
-        model.addAttribute("totalEnrollments", myEnrollments.size());
-        
-        // Agent's claims
-        List<Claim> myClaims = claimService.findClaimsByAgent(agent.getUserId());
-        model.addAttribute("myClaims", claimService.convertToDTOList(myClaims));
-        model.addAttribute("totalClaims", myClaims.size());
-        
-        // Available policies
+    private String agentDashboard(AuthenticatedUser agent, Model model) {
+        Long agentId = agent.getUserId();
+        assemble(model, List.of(
+                // Agent's enrollments
+                new DashboardAssembler.Section("enrollments", () -> {
+                    List<PolicyEnrollment> myEnrollments = enrollmentService.findByAgent(agentId);
+                    return Map.of("myEnrollments", enrollmentService.convertToDTOList(myEnrollments),
+                            "totalEnrollments", myEnrollments.size());
+                }, Map.of("myEnrollments", List.of(), "totalEnrollments", UNAVAILABLE)),
+                
+                // Agent's claims
+                new DashboardAssembler.Section("claims", () -> {
+                    List<ClaimDTO> myClaims = claimService.findClaimDTOsByAgent(agentId);
+                    return Map.of("myClaims", myClaims, "totalClaims", myClaims.size());
+                }, Map.of("myClaims", List.of(), "totalClaims", UNAVAILABLE)),
+                
+                // All customers
+                new DashboardAssembler.Section("customers",
+                        () -> Map.of("totalCustomers", userService.findUsersByRole(Role.USER).size()),
+                        Map.of("totalCustomers", UNAVAILABLE)),
+                
+                // Support tickets assigned to agent
+                new DashboardAssembler.Section("assignedTickets", () -> {
+                    List<SupportTicket> assignedTickets = ticketService.findTicketsAssignedTo(agentId);
+                    return Map.of("assignedTickets", ticketService.convertToDTOList(assignedTickets),
+                            "totalAssignedTickets", assignedTickets.size());
+                }, Map.of("assignedTickets", List.of(), "totalAssignedTickets", UNAVAILABLE)),
+                
+                // Open tickets
+                new DashboardAssembler.Section("openTickets", () -> {
+                    List<SupportTicket> openTickets = ticketService.findOpenTickets();
+                    return Map.of("openTickets", ticketService.convertToDTOList(openTickets),
+                            "totalOpenTickets", openTickets.size());
+                }, Map.of("openTickets", List.of(), "totalOpenTickets", UNAVAILABLE))));
+        
+        // Available policies (in-memory catalog)
         model.addAttribute("activePolicies", policyService.findActivePolicies().size());
         
-        // All customers
-        model.addAttribute("totalCustomers", userService.findUsersByRole(Role.USER).size());
-        
-        // Support tickets assigned to agent
-        List<SupportTicket> assignedTickets = ticketService.findTicketsAssignedTo(agent.getUserId());
-        model.addAttribute("assignedTickets", ticketService.convertToDTOList(assignedTickets));
-        model.addAttribute("totalAssignedTickets", assignedTickets.size());
-        
-        // Open tickets
-        List<SupportTicket> openTickets = ticketService.findOpenTickets();
-        model.addAttribute("openTickets", ticketService.convertToDTOList(openTickets));
-        model.addAttribute("totalOpenTickets", openTickets.size());
-        
         return "dashboard/agent";
     }
     
-    private String adjusterDashboard(User adjuster, Model model) {
-        // Claims assigned to this adjuster
-        List<Claim> assignedClaims = claimService.findClaimsByAdjuster(adjuster.getUserId());
-        model.addAttribute("assignedClaims", claimService.convertToDTOList(assignedClaims));
-        model.addAttribute("totalAssigned", assignedClaims.size());
-        
-        // Pending claims for review
-        List<Claim> pendingClaims = claimService.findPendingClaims();
-        model.addAttribute("pendingClaims", claimService.convertToDTOList(pendingClaims));
-        model.addAttribute("totalPending", pendingClaims.size());
-        
-        // Unassigned claims
-        List<Claim> unassignedClaims = claimService.findUnassignedClaims();
-        model.addAttribute("unassignedClaims", claimService.convertToDTOList(unassignedClaims));
-        model.addAttribute("totalUnassigned", unassignedClaims.size());
-        
-        // Statistics
-        model.addAttribute("approvedCount", claimService.countClaimsByStatus(ClaimStatus.APPROVED));
-        model.addAttribute("rejectedCount", claimService.countClaimsByStatus(ClaimStatus.REJECTED));
+    private String adjusterDashboard(AuthenticatedUser adjuster, Model model) {
+        Long adjusterId = adjuster.getUserId();
+        assemble(model, List.of(
+                // Claims assigned to this adjuster
+                new DashboardAssembler.Section("assignedClaims", () -> {
+                    List<ClaimDTO> assignedClaims = claimService.findClaimDTOsByAdjuster(adjusterId);
+                    return Map.of("assignedClaims", assignedClaims, "totalAssigned", assignedClaims.size());
+                }, Map.of("assignedClaims", List.of(), "totalAssigned", UNAVAILABLE)),
+                
+                // Pending claims for review
+                new DashboardAssembler.Section("pendingClaims", () -> {
+                    List<ClaimDTO> pendingClaims = claimService.findPendingClaimDTOs();
+                    return Map.of("pendingClaims", pendingClaims, "totalPending", pendingClaims.size());
+                }, Map.of("pendingClaims", List.of(), "totalPending", UNAVAILABLE)),
+                
+                // Unassigned claims
+                new DashboardAssembler.Section("unassignedClaims", () -> {
+                    List<ClaimDTO> unassignedClaims = claimService.findUnassignedClaimDTOs();
+                    return Map.of("unassignedClaims", unassignedClaims, "totalUnassigned", unassignedClaims.size());
+                }, Map.of("unassignedClaims", List.of(), "totalUnassigned", UNAVAILABLE)),
+                
+                // Statistics
+                new DashboardAssembler.Section("statistics", () -> Map.of(
+                        "approvedCount", claimService.countClaimsByStatus(ClaimStatus.APPROVED),
+                        "rejectedCount", claimService.countClaimsByStatus(ClaimStatus.REJECTED)),
+                        Map.of("approvedCount", UNAVAILABLE, "rejectedCount", UNAVAILABLE))));
         
         return "dashboard/adjuster";
     }
     
-    private String userDashboard(User user, Model model) {
-        // User's enrollments
-        List<PolicyEnrollment> myEnrollments = enrollmentService.findByPolicyholder(user.getUserId());
-        model.addAttribute("myEnrollments", enrollmentService.convertToDTOList(myEnrollments));
-        model.addAttribute("totalEnrollments", myEnrollments.size());
-        
-        // Active enrollments
-        List<PolicyEnrollment> activeEnrollments = enrollmentService.findActiveEnrollmentsByUser(user.getUserId());
-        model.addAttribute("activeEnrollments", activeEnrollments.size());
-        
-        // User's claims
-        List<Claim> myClaims = claimService.findClaimsByClaimant(user.getUserId());
-        model.addAttribute("myClaims", claimService.convertToDTOList(myClaims));
-        model.addAttribute("totalClaims", myClaims.size());
-        
-        // User's support tickets
-        List<SupportTicket> myTickets = ticketService.findTicketsByUser(user.getUserId());
-        model.addAttribute("myTickets", ticketService.convertToDTOList(myTickets));
-        model.addAttribute("totalTickets", myTickets.size());
-        
-        // Available policies
+    private String userDashboard(AuthenticatedUser user, Model model) {
+        Long userId = user.getUserId();
+        assemble(model, List.of(
+                // User's enrollments
+                new DashboardAssembler.Section("enrollments", () -> {
+                    List<PolicyEnrollment> myEnrollments = enrollmentService.findByPolicyholder(userId);
+                    return Map.of("myEnrollments", enrollmentService.convertToDTOList(myEnrollments),
+                            "totalEnrollments", myEnrollments.size());
+                }, Map.of("myEnrollments", List.of(), "totalEnrollments", UNAVAILABLE)),
+                
+                // Active enrollments
+                new DashboardAssembler.Section("activeEnrollments",
+                        () -> Map.of("activeEnrollments", enrollmentService.findActiveEnrollmentsByUser(userId).size()),
+                        Map.of("activeEnrollments", UNAVAILABLE)),
+                
+                // User's claims
+                new DashboardAssembler.Section("claims", () -> {
+                    List<ClaimDTO> myClaims = claimService.findClaimDTOsByClaimant(userId);
+                    return Map.of("myClaims", myClaims, "totalClaims", myClaims.size());
+                }, Map.of("myClaims", List.of(), "totalClaims", UNAVAILABLE)),
+                
+                // User's support tickets
+                new DashboardAssembler.Section("tickets", () -> {
+                    List<SupportTicket> myTickets = ticketService.findTicketsByUser(userId);
+                    return Map.of("myTickets", ticketService.convertToDTOList(myTickets),
+                            "totalTickets", myTickets.size());
+                }, Map.of("myTickets", List.of(), "totalTickets", UNAVAILABLE))));
+        
+        // Available policies (in-memory catalog)
         model.addAttribute("availablePolicies", policyService.findActivePolicies().size());
         
         return "dashboard/user";
     }
+    
+    private void assemble(Model model, List<DashboardAssembler.Section> sections) {
+        DashboardAssembler.Result result = dashboardAssembler.assemble(sections);
+        model.addAllAttributes(result.attributes());
+        if (!result.unavailableSections().isEmpty()) {
+            model.addAttribute("warningMessage", "Some dashboard sections could not be loaded in time: "
+                    + String.join(", ", result.unavailableSections()));
+        }
+    }
 }
@@ -2,21 +2,29 @@ package com.hicms.controller;
 
 import com.hicms.entity.Document;
 import com.hicms.entity.User;
+import com.hicms.metrics.DocumentTransferMetrics;
+import com.hicms.security.AuthenticatedUser;
 import com.hicms.service.DocumentService;
 import com.hicms.service.UserService;
+import com.hicms.storage.FileChannelResource;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
-import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
 
 /**
  * Controller for Document Management
@@ -28,6 +36,7 @@ public class DocumentController {
     
     private final DocumentService documentService;
     private final UserService userService;
+    private final DocumentTransferMetrics transferMetrics;
     
     @GetMapping("/claim/{claimId}")
     public String showUploadForm(@PathVariable Long claimId, Model model) {
@@ -38,7 +47,7 @@ public class DocumentController {
     @PostMapping("/upload")
     public String uploadDocument(@RequestParam Long claimId,
                                   @RequestParam("file") MultipartFile file,
-                                  @AuthenticationPrincipal UserDetails userDetails,
+                                  @AuthenticationPrincipal AuthenticatedUser principal,
                                   RedirectAttributes redirectAttributes) {
         try {
             if (file.isEmpty()) {
@@ -46,8 +55,7 @@ public class DocumentController {
                 return "redirect:/claims/view/" + claimId;
             }
             
-            User user = userService.findByUsername(userDetails.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            User user = userService.getReference(principal.getUserId());
             
             documentService.uploadDocument(claimId, file, user);
             redirectAttributes.addFlashAttribute("successMessage", "Document uploaded successfully!");
@@ -61,25 +69,87 @@ public class DocumentController {
     @PostMapping("/upload/{claimId}")
     public String uploadDocumentPath(@PathVariable Long claimId,
                                   @RequestParam("file") MultipartFile file,
-                                  @AuthenticationPrincipal UserDetails userDetails,
+                                  @AuthenticationPrincipal AuthenticatedUser principal,
                                   RedirectAttributes redirectAttributes) {
-        return uploadDocument(claimId, file, userDetails, redirectAttributes);
+        return uploadDocument(claimId, file, principal, redirectAttributes);
     }
     
     @GetMapping("/download/{id}")
-    public ResponseEntity<Resource> downloadDocument(@PathVariable Long id) {
+    public void downloadDocument(@PathVariable Long id,
+                                 ServletWebRequest webRequest,
+                                 HttpServletResponse response) throws IOException {
         Document document = documentService.findById(id)
                 .orElseThrow(() -> new RuntimeException("Document not found"));
+        FileChannelResource resource = documentService.getDocumentResource(id);
         
-        byte[] content = documentService.getDocumentContent(id);
-        ByteArrayResource resource = new ByteArrayResource(content);
+        long length = resource.contentLength();
+        long lastModified = resource.lastModified();
+        String eTag = document.getContentHash() != null
+                ? "\"" + document.getContentHash() + "\""
+                : "\"" + document.getDocumentId() + "-" + length + "-" + lastModified + "\"";
         
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, 
-                        "attachment; filename=\"" + document.getOriginalFileName() + "\"")
-                .contentType(MediaType.parseMediaType(document.getContentType()))
-                .contentLength(content.length)
-                .body(resource);
+        // Answers If-None-Match / If-Modified-Since with 304 and no body
+        if (webRequest.checkNotModified(eTag, lastModified)) {
+            return;
+        }
+        
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + document.getOriginalFileName() + "\"");
+        response.setContentType(MediaType.parseMediaType(document.getContentType()).toString());
+        
+        long start = 0;
+        long end = length - 1;
+        String rangeHeader = webRequest.getHeader(HttpHeaders.RANGE);
+        
+        if (rangeHeader != null && isRangeApplicable(webRequest.getHeader(HttpHeaders.IF_RANGE), eTag, lastModified)) {
+            List<HttpRange> ranges;
+            try {
+                ranges = HttpRange.parseRanges(rangeHeader);
+            } catch (IllegalArgumentException e) {
+                ranges = List.of();
+            }
+            
+            // Only single ranges are served partially; multipart/byteranges falls back to the full body
+            if (ranges.size() == 1) {
+                HttpRange range = ranges.get(0);
+                start = range.getRangeStart(length);
+                end = range.getRangeEnd(length);
+                if (start >= length || start > end) {
+                    response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                    return;
+                }
+                response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            }
+        }
+        
+        long count = end - start + 1;
+        response.setContentLengthLong(count);
+        long transferStart = System.nanoTime();
+        resource.transferTo(start, count, response.getOutputStream());
+        transferMetrics.recordDownload(count, transferStart);
+    }
+    
+    /**
+     * A Range is only honoured when If-Range is absent or still matches the current representation
+     */
+    private boolean isRangeApplicable(String ifRange, String eTag, long lastModified) {
+        if (ifRange == null || ifRange.isBlank()) {
+            return true;
+        }
+        if (ifRange.startsWith("\"")) {
+            return ifRange.equals(eTag);
+        }
+        try {
+            long since = ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            return lastModified / 1000 == since / 1000;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
     }
     
     @PostMapping("/delete/{id}")
@@ -1,11 +1,11 @@
 package com.hicms.controller;
 
 import com.hicms.entity.*;
+import com.hicms.security.AuthenticatedUser;
 import com.hicms.service.*;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -25,26 +25,23 @@ public class EnrollmentController {
     private final UserService userService;
     
     @GetMapping
-    public String listEnrollments(@AuthenticationPrincipal UserDetails userDetails, Model model) {
-        User user = userService.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
+    public String listEnrollments(@AuthenticationPrincipal AuthenticatedUser principal, Model model) {
         List<PolicyEnrollment> enrollments;
         
-        switch (user.getRole()) {
+        switch (principal.getRole()) {
             case ADMIN:
             case CLAIM_ADJUSTER:
                 enrollments = enrollmentService.findAllEnrollments();
                 break;
             case AGENT:
-                enrollments = enrollmentService.findByAgent(user.getUserId());
+                enrollments = enrollmentService.findByAgent(principal.getUserId());
                 break;
             default:
-                enrollments = enrollmentService.findByPolicyholder(user.getUserId());
+                enrollments = enrollmentService.findByPolicyholder(principal.getUserId());
         }
         
         model.addAttribute("enrollments", enrollmentService.convertToDTOList(enrollments));
-        model.addAttribute("userRole", user.getRole());
+        model.addAttribute("userRole", principal.getRole());
         return "enrollment/list";
     }
     
@@ -59,20 +56,14 @@ public class EnrollmentController {
     @GetMapping("/enroll")
     @PreAuthorize("hasAnyRole('USER', 'AGENT')")
     public String enrollForm(@RequestParam(required = false) Long policyId,
-                             @AuthenticationPrincipal UserDetails userDetails,
+                             @AuthenticationPrincipal AuthenticatedUser principal,
                              Model model) {
-        User user = userService.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
-        List<Policy> activePolicies = policyService.findActivePolicies();
-        model.addAttribute("policies", activePolicies.stream()
-                .map(policyService::convertToDTO)
-                .toList());
+        model.addAttribute("policies", policyService.findActivePolicies());
         model.addAttribute("selectedPolicyId", policyId);
-        model.addAttribute("userRole", user.getRole());
+        model.addAttribute("userRole", principal.getRole());
         
         // If agent, show customer list
-        if (user.getRole() == Role.AGENT) {
+        if (principal.getRole() == Role.AGENT) {
             model.addAttribute("customers", userService.findUsersByRole(Role.USER));
         }
         
@@ -83,16 +74,15 @@ public class EnrollmentController {
     @PreAuthorize("hasAnyRole('USER', 'AGENT')")
     public String enrollInPolicy(@RequestParam Long policyId,
                                   @RequestParam(required = false) Long customerId,
-                                  @AuthenticationPrincipal UserDetails userDetails,
+                                  @AuthenticationPrincipal AuthenticatedUser principal,
                                   RedirectAttributes redirectAttributes) {
         try {
-            User currentUser = userService.findByUsername(userDetails.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            User currentUser = userService.getReference(principal.getUserId());
             
             User policyholder;
             User agent = null;
             
-            if (currentUser.getRole() == Role.AGENT && customerId != null) {
+            if (principal.getRole() == Role.AGENT && customerId != null) {
                 // Agent enrolling a customer
                 policyholder = userService.findById(customerId)
                         .orElseThrow(() -> new RuntimeException("Customer not found"));
@@ -114,22 +104,20 @@ public class EnrollmentController {
     
     @PostMapping("/cancel/{id}")
     public String cancelEnrollment(@PathVariable Long id,
-                                    @AuthenticationPrincipal UserDetails userDetails,
+                                    @AuthenticationPrincipal AuthenticatedUser principal,
                                     RedirectAttributes redirectAttributes) {
         try {
-            User currentUser = userService.findByUsername(userDetails.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
             
             PolicyEnrollment enrollment = enrollmentService.findById(id)
                     .orElseThrow(() -> new RuntimeException("Enrollment not found"));
             
             // Check authorization
-            boolean canCancel = currentUser.getRole() == Role.ADMIN ||
-                    (currentUser.getRole() == Role.USER && 
-                     enrollment.getPolicyholder().getUserId().equals(currentUser.getUserId())) ||
-                    (currentUser.getRole() == Role.AGENT && 
+            boolean canCancel = principal.getRole() == Role.ADMIN ||
+                    (principal.getRole() == Role.USER && 
+                     enrollment.getPolicyholder().getUserId().equals(principal.getUserId())) ||
+                    (principal.getRole() == Role.AGENT && 
                      enrollment.getAgent() != null && 
-                     enrollment.getAgent().getUserId().equals(currentUser.getUserId()));
+                     enrollment.getAgent().getUserId().equals(principal.getUserId()));
             
             if (!canCancel) {
                 redirectAttributes.addFlashAttribute("errorMessage", "You are not authorized to cancel this enrollment");
@@ -1,23 +1,23 @@
 package com.hicms.controller;
 
 import com.hicms.dto.PolicyDTO;
+import com.hicms.dto.PolicySearchPageDTO;
 import com.hicms.entity.Policy;
 import com.hicms.entity.PolicyStatus;
 import com.hicms.entity.User;
+import com.hicms.security.AuthenticatedUser;
 import com.hicms.service.PolicyService;
 import com.hicms.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Controller for Policy Management
@@ -32,29 +32,40 @@ public class PolicyController {
     
     @GetMapping
     public String listPolicies(Model model) {
-        List<Policy> policies = policyService.findAllPolicies();
-        List<PolicyDTO> policyDTOs = policies.stream()
-                .map(policyService::convertToDTO)
-                .collect(Collectors.toList());
-        model.addAttribute("policies", policyDTOs);
+        model.addAttribute("policies", policyService.findAllPolicies());
         return "policy/list";
     }
     
     @GetMapping("/active")
     public String listActivePolicies(Model model) {
-        List<Policy> policies = policyService.findActivePolicies();
-        List<PolicyDTO> policyDTOs = policies.stream()
-                .map(policyService::convertToDTO)
-                .collect(Collectors.toList());
-        model.addAttribute("policies", policyDTOs);
+        model.addAttribute("policies", policyService.findActivePolicies());
+        return "policy/list";
+    }
+    
+    @GetMapping("/search")
+    public String searchPolicies(@RequestParam(name = "q", required = false) String query,
+                                 @RequestParam(defaultValue = "0") int page,
+                                 @RequestParam(required = false) Integer size,
+                                 Model model) {
+        if (query == null || query.isBlank()) {
+            return "redirect:/policies";
+        }
+        try {
+            PolicySearchPageDTO results = policyService.searchPolicies(query, page, size);
+            model.addAttribute("policies", results.getPolicies());
+            model.addAttribute("search", results);
+        } catch (IllegalArgumentException e) {
+            model.addAttribute("policies", List.of());
+            model.addAttribute("errorMessage", e.getMessage());
+        }
         return "policy/list";
     }
     
     @GetMapping("/view/{id}")
     public String viewPolicy(@PathVariable Long id, Model model) {
-        Policy policy = policyService.findById(id)
+        PolicyDTO policy = policyService.findPolicyDTO(id)
                 .orElseThrow(() -> new RuntimeException("Policy not found"));
-        model.addAttribute("policy", policyService.convertToDTO(policy));
+        model.addAttribute("policy", policy);
         return "policy/view";
     }
     
@@ -70,7 +81,7 @@ public class PolicyController {
     @PreAuthorize("hasRole('ADMIN')")
     public String createPolicy(@Valid @ModelAttribute("policy") PolicyDTO policyDTO,
                                BindingResult result,
-                               @AuthenticationPrincipal UserDetails userDetails,
+                               @AuthenticationPrincipal AuthenticatedUser principal,
                                RedirectAttributes redirectAttributes,
                                Model model) {
         
@@ -80,8 +91,7 @@ public class PolicyController {
         }
         
         try {
-            User admin = userService.findByUsername(userDetails.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            User admin = userService.getReference(principal.getUserId());
             
             policyService.createPolicy(policyDTO, admin);
             redirectAttributes.addFlashAttribute("successMessage", "Policy created successfully!");
@@ -96,9 +106,9 @@ public class PolicyController {
     @GetMapping("/edit/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     public String editPolicyForm(@PathVariable Long id, Model model) {
-        Policy policy = policyService.findById(id)
+        PolicyDTO policy = policyService.findPolicyDTO(id)
                 .orElseThrow(() -> new RuntimeException("Policy not found"));
-        model.addAttribute("policy", policyService.convertToDTO(policy));
+        model.addAttribute("policy", policy);
         model.addAttribute("statuses", PolicyStatus.values());
         return "policy/edit";
     }
@@ -2,13 +2,13 @@ package com.hicms.controller;
 
 import com.hicms.dto.SupportTicketDTO;
 import com.hicms.entity.*;
+import com.hicms.security.AuthenticatedUser;
 import com.hicms.service.SupportTicketService;
 import com.hicms.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -28,13 +28,10 @@ public class SupportController {
     private final UserService userService;
     
     @GetMapping
-    public String listTickets(@AuthenticationPrincipal UserDetails userDetails, Model model) {
-        User user = userService.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
+    public String listTickets(@AuthenticationPrincipal AuthenticatedUser principal, Model model) {
         List<SupportTicket> tickets;
         
-        if (user.getRole() == Role.ADMIN || user.getRole() == Role.AGENT || user.getRole() == Role.CLAIM_ADJUSTER) {
+        if (principal.getRole() == Role.ADMIN || principal.getRole() == Role.AGENT || principal.getRole() == Role.CLAIM_ADJUSTER) {
             tickets = ticketService.findAllTickets();
             // Add statistics for agents/admins
             model.addAttribute("openCount", ticketService.countTicketsByStatus(TicketStatus.OPEN));
@@ -42,11 +39,11 @@ public class SupportController {
             model.addAttribute("resolvedCount", ticketService.countTicketsByStatus(TicketStatus.RESOLVED));
             model.addAttribute("closedCount", ticketService.countTicketsByStatus(TicketStatus.CLOSED));
         } else {
-            tickets = ticketService.findTicketsByUser(user.getUserId());
+            tickets = ticketService.findTicketsByUser(principal.getUserId());
         }
         
         model.addAttribute("tickets", ticketService.convertToDTOList(tickets));
-        model.addAttribute("userRole", user.getRole());
+        model.addAttribute("userRole", principal.getRole());
         return "support/list";
     }
     
@@ -79,7 +76,7 @@ public class SupportController {
     @PostMapping("/create")
     public String createTicket(@Valid @ModelAttribute("ticket") SupportTicketDTO ticketDTO,
                                 BindingResult result,
-                                @AuthenticationPrincipal UserDetails userDetails,
+                                @AuthenticationPrincipal AuthenticatedUser principal,
                                 RedirectAttributes redirectAttributes,
                                 Model model) {
         
@@ -88,8 +85,7 @@ public class SupportController {
         }
         
         try {
-            User user = userService.findByUsername(userDetails.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            User user = userService.getReference(principal.getUserId());
             
             ticketService.createTicket(ticketDTO, user);
             redirectAttributes.addFlashAttribute("successMessage", "Support ticket created successfully!");
@@ -104,11 +100,10 @@ public class SupportController {
     @PostMapping("/assign/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'AGENT', 'CLAIM_ADJUSTER')")
     public String assignTicket(@PathVariable Long id,
-                                @AuthenticationPrincipal UserDetails userDetails,
+                                @AuthenticationPrincipal AuthenticatedUser principal,
                                 RedirectAttributes redirectAttributes) {
         try {
-            User assignee = userService.findByUsername(userDetails.getUsername())
-                    .orElseThrow(() -> new RuntimeException("User not found"));
+            User assignee = userService.getReference(principal.getUserId());
             
             ticketService.assignTicket(id, assignee);
             redirectAttributes.addFlashAttribute("successMessage", "Ticket assigned successfully!");
@@ -0,0 +1,79 @@
+package com.hicms.controller.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hicms.dto.ClaimIngestResultDTO;
+import com.hicms.entity.Role;
+import com.hicms.security.AuthenticatedUser;
+import com.hicms.service.ClaimIngestService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * REST API Controller for bulk claim submission.
+ * Accepts NDJSON (one ClaimDTO per line) or CSV with a header row, and
+ * streams back one NDJSON result per input line as each chunk completes.
+ */
+@RestController
+@RequestMapping("/api/claims")
+@RequiredArgsConstructor
+public class ClaimIngestApiController {
+    
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+    
+    private final ClaimIngestService ingestService;
+    private final ObjectMapper objectMapper;
+    
+    @PostMapping(value = "/bulk", consumes = {NDJSON, CSV})
+    @PreAuthorize("hasAnyRole('ADMIN', 'AGENT')")
+    public void bulkSubmit(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                           @AuthenticationPrincipal AuthenticatedUser principal,
+                           HttpServletRequest request,
+                           HttpServletResponse response) throws IOException {
+        ClaimIngestService.Format format = contentType.isCompatibleWith(MediaType.parseMediaType(CSV))
+                ? ClaimIngestService.Format.CSV
+                : ClaimIngestService.Format.NDJSON;
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        Long agentId = principal.getRole() == Role.AGENT ? principal.getUserId() : null;
+        
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        OutputStream out = response.getOutputStream();
+        
+        try {
+            ingestService.ingestClaims(new InputStreamReader(request.getInputStream(), charset), format, agentId,
+                    results -> writeResults(out, results));
+        } catch (RuntimeException e) {
+            // Only a bad CSV header can fail before the first chunk is written
+            if (response.isCommitted()) {
+                throw e;
+            }
+            response.reset();
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        }
+    }
+    
+    private void writeResults(OutputStream out, Iterable<ClaimIngestResultDTO> results) {
+        try {
+            for (ClaimIngestResultDTO result : results) {
+                out.write(objectMapper.writeValueAsBytes(result));
+                out.write('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
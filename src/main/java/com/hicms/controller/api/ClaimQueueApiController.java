@@ -0,0 +1,38 @@
+package com.hicms.controller.api;
+
+import com.hicms.dto.ClaimDTO;
+import com.hicms.security.AuthenticatedUser;
+import com.hicms.service.ClaimWorkQueueService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+
+/**
+ * REST API Controller for the adjuster claim work queue
+ */
+@RestController
+@RequestMapping("/api/claims/queue")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('CLAIM_ADJUSTER')")
+public class ClaimQueueApiController {
+    
+    private final ClaimWorkQueueService workQueueService;
+    
+    @PostMapping("/lease")
+    public ResponseEntity<List<ClaimDTO>> leaseNextClaims(@RequestParam(defaultValue = "1") int count,
+                                                          @AuthenticationPrincipal AuthenticatedUser principal) {
+        return ResponseEntity.ok(workQueueService.leaseNextClaims(principal.getUserId(), count));
+    }
+    
+    @PostMapping("/{claimId}/release")
+    public ResponseEntity<Void> releaseLease(@PathVariable Long claimId,
+                                             @AuthenticationPrincipal AuthenticatedUser principal) {
+        return workQueueService.releaseLease(claimId, principal.getUserId())
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.hicms.controller.api;
+
+import com.hicms.dto.ClaimSearchCriteriaDTO;
+import com.hicms.dto.ClaimSearchPageDTO;
+import com.hicms.service.ClaimSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * REST API Controller for multi-criteria claim search
+ */
+@RestController
+@RequestMapping("/api/claims/search")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('ADMIN', 'CLAIM_ADJUSTER')")
+public class ClaimSearchApiController {
+    
+    private final ClaimSearchService claimSearchService;
+    
+    @GetMapping
+    public ResponseEntity<ClaimSearchPageDTO> searchClaims(@ModelAttribute ClaimSearchCriteriaDTO criteria) {
+        try {
+            return ResponseEntity.ok(claimSearchService.searchClaims(criteria));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+}
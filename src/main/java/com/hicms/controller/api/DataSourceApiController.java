@@ -0,0 +1,31 @@
+package com.hicms.controller.api;
+
+import com.hicms.datasource.ReplicaRoutingDataSource;
+import com.hicms.dto.DataSourceRoutingStatisticsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST API Controller for the read replica routing counters
+ */
+@RestController
+@RequestMapping("/api/admin/datasources")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class DataSourceApiController {
+    
+    // Absent unless read replicas are configured
+    private final ObjectProvider<ReplicaRoutingDataSource> routingDataSource;
+    
+    @GetMapping
+    public ResponseEntity<DataSourceRoutingStatisticsDTO> getStatistics() {
+        ReplicaRoutingDataSource dataSource = routingDataSource.getIfAvailable();
+        if (dataSource == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(dataSource.getStatistics());
+    }
+}
@@ -0,0 +1,42 @@
+package com.hicms.controller.api;
+
+import com.hicms.dto.EnrollmentExpiryResultDTO;
+import com.hicms.service.EnrollmentExpiryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import java.time.LocalDate;
+
+/**
+ * REST API Controller for the enrollment expiry job
+ */
+@RestController
+@RequestMapping("/api/admin/enrollment-expiry")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class EnrollmentExpiryApiController {
+    
+    private final EnrollmentExpiryService expiryService;
+    
+    @GetMapping
+    public ResponseEntity<EnrollmentExpiryResultDTO> getLastRun() {
+        return expiryService.getLastRun()
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.noContent().build());
+    }
+    
+    @PostMapping
+    public ResponseEntity<EnrollmentExpiryResultDTO> runNow(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf) {
+        LocalDate today = LocalDate.now();
+        // A future date would expire enrollments that are still active today
+        if (asOf != null && asOf.isAfter(today)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "asOf cannot be in the future");
+        }
+        return ResponseEntity.ok(expiryService.expireEnrollments(asOf != null ? asOf : today));
+    }
+}
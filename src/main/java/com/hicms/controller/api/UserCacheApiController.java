@@ -0,0 +1,31 @@
+package com.hicms.controller.api;
+
+import com.hicms.dto.UserCacheStatisticsDTO;
+import com.hicms.security.UserDetailsCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST API Controller for the user details cache counters
+ */
+@RestController
+@RequestMapping("/api/admin/user-cache")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class UserCacheApiController {
+    
+    private final UserDetailsCache userDetailsCache;
+    
+    @GetMapping
+    public ResponseEntity<UserCacheStatisticsDTO> getStatistics() {
+        return ResponseEntity.ok(userDetailsCache.getStatistics());
+    }
+    
+    @DeleteMapping
+    public ResponseEntity<UserCacheStatisticsDTO> clear() {
+        userDetailsCache.clear();
+        return ResponseEntity.ok(userDetailsCache.getStatistics());
+    }
+}
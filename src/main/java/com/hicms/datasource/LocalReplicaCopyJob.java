@@ -0,0 +1,92 @@
+package com.hicms.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+
+/**
+ * Stands in for replication in the replica-local profile: every interval the embedded H2 replica is
+ * replaced by a copy of the embedded H2 primary, and replica_status records when that copy was taken.
+ * The profile's lag query reads replica_status, so the replica falls behind by up to one interval,
+ * and holding or back-dating replica_status.applied_at takes it out of rotation.
+ * Needs H2 on the class path (mvn -Preplica-local).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "app.datasource.replica.local.copy-interval-ms")
+public class LocalReplicaCopyJob {
+    
+    private final String primaryUrl;
+    private final String replicaUrl;
+    private final String username;
+    private final String password;
+    
+    public LocalReplicaCopyJob(@Value("${spring.datasource.url}") String primaryUrl,
+                               @Value("${app.datasource.replica.urls}") String replicaUrl,
+                               @Value("${spring.datasource.username:}") String username,
+                               @Value("${spring.datasource.password:}") String password) {
+        this.primaryUrl = primaryUrl;
+        this.replicaUrl = replicaUrl;
+        this.username = username;
+        this.password = password;
+    }
+    
+    @Scheduled(initialDelayString = "${app.datasource.replica.local.copy-interval-ms}",
+               fixedDelayString = "${app.datasource.replica.local.copy-interval-ms}")
+    public void copy() {
+        Path script = null;
+        try {
+            script = Files.createTempFile("hicms-replica", ".sql");
+            OffsetDateTime copiedAt;
+            try (Connection primary = DriverManager.getConnection(primaryUrl, username, password);
+                 Statement statement = primary.createStatement()) {
+                try (ResultSet rs = statement.executeQuery("SELECT CURRENT_TIMESTAMP")) {
+                    rs.next();
+                    copiedAt = rs.getObject(1, OffsetDateTime.class);
+                }
+                statement.execute("SCRIPT TO '" + script.toAbsolutePath() + "'");
+            }
+            try (Connection replica = DriverManager.getConnection(replicaUrl, username, password);
+                 Statement statement = replica.createStatement()) {
+                // Other connections wait rather than see a half-loaded schema
+                statement.execute("SET EXCLUSIVE 1");
+                try {
+                    statement.execute("DROP ALL OBJECTS");
+                    statement.execute("RUNSCRIPT FROM '" + script.toAbsolutePath() + "'");
+                    statement.execute("CREATE TABLE replica_status (applied_at TIMESTAMP WITH TIME ZONE NOT NULL)");
+                    try (PreparedStatement insert = replica.prepareStatement(
+                            "INSERT INTO replica_status (applied_at) VALUES (?)")) {
+                        insert.setObject(1, copiedAt);
+                        insert.executeUpdate();
+                    }
+                } finally {
+                    statement.execute("SET EXCLUSIVE 0");
+                }
+            }
+            log.debug("Local replica copied from the primary as of {}", copiedAt);
+        } catch (SQLException | IOException e) {
+            log.warn("Local replica copy failed: {}", e.getMessage());
+        } finally {
+            if (script != null) {
+                try {
+                    Files.deleteIfExists(script);
+                } catch (IOException e) {
+                    log.debug("Could not delete {}: {}", script, e.getMessage());
+                }
+            }
+        }
+    }
+}
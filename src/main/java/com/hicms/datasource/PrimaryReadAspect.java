@@ -0,0 +1,35 @@
+package com.hicms.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Marks the current thread while a @ReadFromPrimary method runs. The routing data source only
+ * picks a pool when the first statement runs, so the mark is in place whichever proxy opened
+ * the transaction.
+ */
+@Aspect
+@Component
+public class PrimaryReadAspect {
+    
+    private static final ThreadLocal<Boolean> ACTIVE = ThreadLocal.withInitial(() -> Boolean.FALSE);
+    
+    @Around("@annotation(com.hicms.datasource.ReadFromPrimary)")
+    public Object readFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean outer = ACTIVE.get();
+        ACTIVE.set(Boolean.TRUE);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            if (!outer) {
+                ACTIVE.remove();
+            }
+        }
+    }
+    
+    static boolean isActive() {
+        return ACTIVE.get();
+    }
+}
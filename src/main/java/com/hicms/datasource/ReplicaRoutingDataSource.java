@@ -0,0 +1,227 @@
+package com.hicms.datasource;
+
+import com.hicms.dto.DataSourcePoolStatisticsDTO;
+import com.hicms.dto.DataSourceRoutingStatisticsDTO;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends connections for read-only transactions to a healthy replica and everything else to the primary.
+ * A replica is skipped while its lag is above the tolerance, and a user's reads stay on the primary
+ * for a short window after their own write commits so they always see it.
+ *
+ * Reads with no signed-in user (scheduled jobs, startup loads) and reads inside a @ReadFromPrimary
+ * method also go to the primary: they are mostly reloads of in-memory views after a write, and a
+ * lagging replica would leave those views stale until the next change.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    
+    static final String PRIMARY = "primary";
+    
+    private final Pool primary;
+    private final List<Pool> replicas;
+    private final long maxLagSeconds;
+    private final long stickinessMillis;
+    private final String lagQuery;
+    
+    // username -> time their last read-write transaction committed
+    private final Map<String, Long> lastWriteByUser = new ConcurrentHashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final LongAdder stickyReads = new LongAdder();
+    private final LongAdder fallbackReads = new LongAdder();
+    
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                                    long maxLagSeconds, long stickinessSeconds, String lagQuery) {
+        this.primary = new Pool(PRIMARY, primary);
+        this.primary.healthy = true;
+        this.replicas = new ArrayList<>();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (HikariDataSource replica : replicas) {
+            Pool pool = new Pool(replica.getPoolName(), replica);
+            this.replicas.add(pool);
+            targets.put(pool.name, replica);
+        }
+        this.maxLagSeconds = maxLagSeconds;
+        this.stickinessMillis = stickinessSeconds * 1000;
+        this.lagQuery = lagQuery;
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            recordWriteOnCommit();
+            return route(primary);
+        }
+        
+        String username = currentUsername();
+        if (username == null || PrimaryReadAspect.isActive()) {
+            return route(primary);
+        }
+        Long lastWrite = lastWriteByUser.get(username);
+        if (lastWrite != null) {
+            if (System.currentTimeMillis() - lastWrite < stickinessMillis) {
+                stickyReads.increment();
+                return route(primary);
+            }
+            lastWriteByUser.remove(username, lastWrite);
+        }
+        
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Pool replica = replicas.get((start + i) % size);
+            if (replica.healthy) {
+                return route(replica);
+            }
+        }
+        fallbackReads.increment();
+        return route(primary);
+    }
+    
+    private String route(Pool pool) {
+        pool.routed.increment();
+        return pool.name;
+    }
+    
+    // Starts the user's stickiness window once the transaction has actually committed
+    private void recordWriteOnCommit() {
+        String username = currentUsername();
+        if (username == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                lastWriteByUser.put(username, System.currentTimeMillis());
+            }
+        });
+    }
+    
+    private String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+    
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-ms:5000}")
+    public void checkReplicas() {
+        // Users who wrote once and never read again would otherwise stay in the map
+        long now = System.currentTimeMillis();
+        lastWriteByUser.values().removeIf(lastWrite -> now - lastWrite >= stickinessMillis);
+        
+        for (Pool replica : replicas) {
+            Long lag = null;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                lag = measureLag(connection);
+            } catch (SQLException e) {
+                log.debug("Replica {} check failed: {}", replica.name, e.getMessage());
+            }
+            boolean healthy = lag != null && lag <= maxLagSeconds;
+            if (healthy != replica.healthy) {
+                log.warn("Replica {} is now {} (lag {}s, tolerance {}s)", replica.name,
+                        healthy ? "in rotation" : "out of rotation", lag, maxLagSeconds);
+            }
+            replica.lagSeconds = lag;
+            replica.healthy = healthy;
+        }
+    }
+    
+    /**
+     * Lag in seconds, or null when replication is not running. Without a lag query the replica is only
+     * checked for liveness. SHOW REPLICA STATUS is read through its Seconds_Behind_Source column,
+     * any other query must return the lag in its first column.
+     */
+    private Long measureLag(Connection connection) throws SQLException {
+        if (lagQuery.isBlank()) {
+            return connection.isValid(2) ? 0L : null;
+        }
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(lagQuery)) {
+            if (!rs.next()) {
+                return null;
+            }
+            ResultSetMetaData meta = rs.getMetaData();
+            int column = 1;
+            for (int i = 1; i <= meta.getColumnCount(); i++) {
+                if ("Seconds_Behind_Source".equalsIgnoreCase(meta.getColumnLabel(i))) {
+                    column = i;
+                }
+            }
+            long lag = rs.getLong(column);
+            return rs.wasNull() ? null : lag;
+        }
+    }
+    
+    public DataSourceRoutingStatisticsDTO getStatistics() {
+        List<DataSourcePoolStatisticsDTO> pools = new ArrayList<>();
+        pools.add(primary.toStatistics());
+        replicas.forEach(replica -> pools.add(replica.toStatistics()));
+        return DataSourceRoutingStatisticsDTO.builder()
+                .pools(pools)
+                .maxLagSeconds(maxLagSeconds)
+                .stickinessSeconds(stickinessMillis / 1000)
+                .stickyReads(stickyReads.sum())
+                .fallbackReads(fallbackReads.sum())
+                .build();
+    }
+    
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+        primary.dataSource.close();
+    }
+    
+    private static final class Pool {
+        
+        private final String name;
+        private final HikariDataSource dataSource;
+        private final LongAdder routed = new LongAdder();
+        private volatile boolean healthy;
+        private volatile Long lagSeconds;
+        
+        private Pool(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+        
+        private DataSourcePoolStatisticsDTO toStatistics() {
+            DataSourcePoolStatisticsDTO.DataSourcePoolStatisticsDTOBuilder builder = DataSourcePoolStatisticsDTO.builder()
+                    .name(name)
+                    .healthy(healthy)
+                    .lagSeconds(lagSeconds)
+                    .routedConnections(routed.sum());
+            // Null until Hikari has started the pool
+            HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+            if (pool != null) {
+                builder.activeConnections(pool.getActiveConnections())
+                        .idleConnections(pool.getIdleConnections())
+                        .totalConnections(pool.getTotalConnections())
+                        .threadsAwaitingConnection(pool.getThreadsAwaitingConnection());
+            }
+            return builder.build();
+        }
+    }
+}
@@ -5,6 +5,8 @@ import jakarta.validation.constraints.*;
 import lombok.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 
 /**
  * DTO for claim submission and display
@@ -61,4 +63,21 @@ public class ClaimDTO {
     private String remarks;
     
     private String createdDate;
+    
+    /**
+     * Constructor used by the JPQL projections in ClaimRepository
+     */
+    public ClaimDTO(Long claimId, String claimNumber,
+                    Long policyId, String policyName, String policyNumber,
+                    Long claimantId, String claimantName,
+                    Long agentId, String agentName,
+                    Long adjusterId, String adjusterName,
+                    BigDecimal claimAmount, BigDecimal approvedAmount, BigDecimal coverageAmount,
+                    LocalDate claimDate, String description, String reason,
+                    ClaimStatus claimStatus, String remarks, LocalDateTime createdDate) {
+        this(claimId, claimNumber, policyId, policyName, policyNumber, claimantId, claimantName,
+                agentId, agentName, adjusterId, adjusterName, claimAmount, approvedAmount, coverageAmount,
+                claimDate, description, reason, claimStatus, remarks,
+                createdDate != null ? createdDate.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) : null);
+    }
 }
@@ -0,0 +1,24 @@
+package com.hicms.dto;
+
+import lombok.*;
+
+/**
+ * DTO for the outcome of one line of a bulk claim submission
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClaimIngestResultDTO {
+    
+    private long lineNumber;
+    
+    private boolean success;
+    
+    private Long claimId;
+    
+    private String claimNumber;
+    
+    private String errorMessage;
+}
@@ -0,0 +1,29 @@
+package com.hicms.dto;
+
+import lombok.*;
+import java.util.List;
+
+/**
+ * DTO for one keyset-paginated slice of the claim list
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClaimPageDTO {
+    
+    private List<ClaimDTO> claims;
+    
+    private int size;
+    
+    private boolean hasNext;
+    
+    private boolean hasPrevious;
+    
+    // Cursor of the last row, used to fetch the next (older) page
+    private String nextCursor;
+    
+    // Cursor of the first row, used to fetch the previous (newer) page
+    private String previousCursor;
+}
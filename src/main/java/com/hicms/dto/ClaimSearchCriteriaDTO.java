@@ -0,0 +1,64 @@
+package com.hicms.dto;
+
+import com.hicms.entity.ClaimStatus;
+import lombok.*;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+
+/**
+ * DTO for the claim search filters, sort order and page. Every filter is optional.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClaimSearchCriteriaDTO {
+    
+    public enum SortField {
+        CREATED_DATE,
+        CLAIM_DATE,
+        CLAIM_AMOUNT,
+        CLAIM_STATUS
+    }
+    
+    private Set<ClaimStatus> statuses;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate claimDateFrom;
+    
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate claimDateTo;
+    
+    private BigDecimal minAmount;
+    
+    private BigDecimal maxAmount;
+    
+    private Long policyId;
+    
+    private Long claimantId;
+    
+    // Matched as a prefix of the claimant's full name
+    private String claimantName;
+    
+    private Long agentId;
+    
+    private Long adjusterId;
+    
+    // Matched anywhere in the description or reason
+    private String text;
+    
+    @Builder.Default
+    private SortField sort = SortField.CREATED_DATE;
+    
+    @Builder.Default
+    private Sort.Direction direction = Sort.Direction.DESC;
+    
+    // Zero-based
+    private int page;
+    
+    private Integer size;
+}
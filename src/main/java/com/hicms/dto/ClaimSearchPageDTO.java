@@ -0,0 +1,25 @@
+package com.hicms.dto;
+
+import lombok.*;
+import java.util.List;
+
+/**
+ * DTO for one page of claim search results
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ClaimSearchPageDTO {
+    
+    private List<ClaimDTO> claims;
+    
+    private int page;
+    
+    private int size;
+    
+    private boolean hasNext;
+    
+    private boolean hasPrevious;
+}
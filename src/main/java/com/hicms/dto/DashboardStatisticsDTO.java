@@ -0,0 +1,62 @@
+package com.hicms.dto;
+
+import com.hicms.entity.ClaimStatus;
+import com.hicms.entity.PolicyStatus;
+import com.hicms.entity.Role;
+import com.hicms.entity.TicketStatus;
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * DTO holding the aggregate counters shown on the admin dashboard
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardStatisticsDTO {
+    
+    private Map<PolicyStatus, Long> policiesByStatus;
+    
+    private Map<ClaimStatus, Long> claimsByStatus;
+    
+    private Map<Role, Long> usersByRole;
+    
+    private Map<TicketStatus, Long> ticketsByStatus;
+    
+    private LocalDateTime generatedAt;
+    
+    public long getPolicyCount(PolicyStatus status) {
+        return policiesByStatus.getOrDefault(status, 0L);
+    }
+    
+    public long getClaimCount(ClaimStatus status) {
+        return claimsByStatus.getOrDefault(status, 0L);
+    }
+    
+    public long getUserCount(Role role) {
+        return usersByRole.getOrDefault(role, 0L);
+    }
+    
+    public long getTicketCount(TicketStatus status) {
+        return ticketsByStatus.getOrDefault(status, 0L);
+    }
+    
+    public long getTotalPolicies() {
+        return policiesByStatus.values().stream().mapToLong(Long::longValue).sum();
+    }
+    
+    public long getTotalClaims() {
+        return claimsByStatus.values().stream().mapToLong(Long::longValue).sum();
+    }
+    
+    public long getTotalUsers() {
+        return usersByRole.values().stream().mapToLong(Long::longValue).sum();
+    }
+    
+    public long getTotalTickets() {
+        return ticketsByStatus.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,30 @@
+package com.hicms.dto;
+
+import lombok.*;
+
+/**
+ * DTO for one connection pool behind the replica routing data source
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DataSourcePoolStatisticsDTO {
+    
+    private String name;
+    
+    private boolean healthy;
+    
+    private Long lagSeconds;
+    
+    private long routedConnections;
+    
+    private int activeConnections;
+    
+    private int idleConnections;
+    
+    private int totalConnections;
+    
+    private int threadsAwaitingConnection;
+}
@@ -0,0 +1,28 @@
+package com.hicms.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * DTO for the replica routing data source counters
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DataSourceRoutingStatisticsDTO {
+    
+    private List<DataSourcePoolStatisticsDTO> pools;
+    
+    private long maxLagSeconds;
+    
+    private long stickinessSeconds;
+    
+    // Read-only transactions kept on the primary after the user's own write
+    private long stickyReads;
+    
+    // Read-only transactions sent to the primary because no replica was healthy
+    private long fallbackReads;
+}
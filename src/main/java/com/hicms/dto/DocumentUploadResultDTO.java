@@ -0,0 +1,20 @@
+package com.hicms.dto;
+
+import lombok.*;
+
+/**
+ * DTO reporting the outcome of one file in a multi-file upload
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentUploadResultDTO {
+    
+    private String originalFileName;
+    
+    private boolean success;
+    
+    private String errorMessage;
+}
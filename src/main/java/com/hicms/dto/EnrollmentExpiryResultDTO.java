@@ -0,0 +1,27 @@
+package com.hicms.dto;
+
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DTO summarising one run of the enrollment expiry job
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EnrollmentExpiryResultDTO {
+    
+    // Enrollments whose end date is before this day were expired
+    private LocalDate asOfDate;
+    
+    private int expiredCount;
+    
+    private int chunkCount;
+    
+    private long durationMillis;
+    
+    private LocalDateTime startedAt;
+}
@@ -0,0 +1,29 @@
+package com.hicms.dto;
+
+import lombok.*;
+import java.util.List;
+
+/**
+ * DTO for one page of ranked policy search results
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PolicySearchPageDTO {
+    
+    private List<PolicyDTO> policies;
+    
+    private String query;
+    
+    private int page;
+    
+    private int size;
+    
+    private int totalHits;
+    
+    private boolean hasNext;
+    
+    private boolean hasPrevious;
+}
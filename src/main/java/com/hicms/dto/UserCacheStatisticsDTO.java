@@ -0,0 +1,28 @@
+package com.hicms.dto;
+
+import lombok.*;
+
+/**
+ * DTO for the user details cache counters
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserCacheStatisticsDTO {
+    
+    private int size;
+    
+    private int maxSize;
+    
+    private long ttlSeconds;
+    
+    private long hitCount;
+    
+    private long missCount;
+    
+    private long evictionCount;
+    
+    private double hitRatio;
+}
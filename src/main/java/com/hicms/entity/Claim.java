@@ -65,6 +65,10 @@ public class Claim {
     @Column(length = 1000)
     private String remarks;
     
+    // Set while an adjuster holds the claim through the work queue; cleared once it is assigned
+    @Column(name = "lease_expires_at")
+    private LocalDateTime leaseExpiresAt;
+    
     @Column(name = "created_date")
     private LocalDateTime createdDate;
     
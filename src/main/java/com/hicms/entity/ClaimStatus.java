@@ -1,5 +1,11 @@
 package com.hicms.entity;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 /**
  * Enum representing claim status
  */
@@ -8,5 +14,34 @@ public enum ClaimStatus {
     UNDER_REVIEW,
     APPROVED,
     REJECTED,
-    CANCELLED
+    CANCELLED;
+    
+    // Allowed transitions; APPROVED, REJECTED and CANCELLED are final.
+    // A PENDING claim may be reviewed directly, which assigns the reviewer as adjuster.
+    private static final Map<ClaimStatus, Set<ClaimStatus>> TRANSITIONS = new EnumMap<>(ClaimStatus.class);
+    
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(UNDER_REVIEW, APPROVED, REJECTED, CANCELLED));
+        TRANSITIONS.put(UNDER_REVIEW, EnumSet.of(APPROVED, REJECTED));
+        TRANSITIONS.put(APPROVED, EnumSet.noneOf(ClaimStatus.class));
+        TRANSITIONS.put(REJECTED, EnumSet.noneOf(ClaimStatus.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(ClaimStatus.class));
+    }
+    
+    public boolean canTransitionTo(ClaimStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+    
+    /**
+     * Statuses from which target can be reached, for use in a conditional UPDATE
+     */
+    public static Set<ClaimStatus> sourcesOf(ClaimStatus target) {
+        Set<ClaimStatus> sources = EnumSet.noneOf(ClaimStatus.class);
+        TRANSITIONS.forEach((source, targets) -> {
+            if (targets.contains(target)) {
+                sources.add(source);
+            }
+        });
+        return Collections.unmodifiableSet(sources);
+    }
 }
@@ -43,6 +43,10 @@ public class Document {
     @Column(name = "content_type", length = 100)
     private String contentType;
     
+    // SHA-256 of the content when stored in the content-addressed store, null for per-upload files
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "uploaded_by")
     private User uploadedBy;
@@ -0,0 +1,43 @@
+package com.hicms.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * DocumentBlob entity representing one stored file in the content-addressed
+ * document store, shared by every Document with the same SHA-256 hash
+ */
+@Entity
+@Table(name = "document_blobs")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DocumentBlob {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long blobId;
+    
+    @Column(name = "content_hash", unique = true, nullable = false, length = 64)
+    private String contentHash;
+    
+    @Column(name = "blob_path", nullable = false, length = 500)
+    private String blobPath;
+    
+    @Column(name = "file_size")
+    private Long fileSize;
+    
+    @Column(name = "reference_count", nullable = false)
+    private long referenceCount;
+    
+    @Column(name = "created_date")
+    private LocalDateTime createdDate;
+    
+    @PrePersist
+    protected void onCreate() {
+        createdDate = LocalDateTime.now();
+    }
+}
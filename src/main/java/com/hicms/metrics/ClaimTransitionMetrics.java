@@ -0,0 +1,48 @@
+package com.hicms.metrics;
+
+import com.hicms.entity.ClaimStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Counts claim status changes as hicms.claims.transitions, tagged with the target status and
+ * whether the conditional update applied or found the claim already moved on ("conflict").
+ * Transitions are single UPDATEs guarded by the allowed source statuses, so the source status
+ * is not known and not tagged.
+ */
+@Component
+public class ClaimTransitionMetrics {
+    
+    private static final String METRIC_NAME = "hicms.claims.transitions";
+    
+    private final Map<ClaimStatus, Counter> applied = new EnumMap<>(ClaimStatus.class);
+    private final Map<ClaimStatus, Counter> conflicts = new EnumMap<>(ClaimStatus.class);
+    
+    public ClaimTransitionMetrics(MeterRegistry meterRegistry) {
+        for (ClaimStatus status : ClaimStatus.values()) {
+            applied.put(status, counter(meterRegistry, status, "applied"));
+            conflicts.put(status, counter(meterRegistry, status, "conflict"));
+        }
+    }
+    
+    /**
+     * New claims, counted as transitions to PENDING
+     */
+    public void recordSubmitted(int count) {
+        applied.get(ClaimStatus.PENDING).increment(count);
+    }
+    
+    public void recordTransition(ClaimStatus target, boolean transitioned) {
+        (transitioned ? applied : conflicts).get(target).increment();
+    }
+    
+    private static Counter counter(MeterRegistry meterRegistry, ClaimStatus status, String result) {
+        return Counter.builder(METRIC_NAME)
+                .tag("to", status.name())
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,50 @@
+package com.hicms.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Document bytes moved to and from storage (hicms.documents.bytes) and the time each file
+ * took (hicms.documents.transfer), tagged with direction upload or download
+ */
+@Component
+public class DocumentTransferMetrics {
+    
+    private final DistributionSummary uploadBytes;
+    private final DistributionSummary downloadBytes;
+    private final Timer uploadTime;
+    private final Timer downloadTime;
+    
+    public DocumentTransferMetrics(MeterRegistry meterRegistry) {
+        this.uploadBytes = bytes(meterRegistry, "upload");
+        this.downloadBytes = bytes(meterRegistry, "download");
+        this.uploadTime = time(meterRegistry, "upload");
+        this.downloadTime = time(meterRegistry, "download");
+    }
+    
+    public void recordUpload(long bytes, long startNanos) {
+        uploadBytes.record(bytes);
+        uploadTime.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    public void recordDownload(long bytes, long startNanos) {
+        downloadBytes.record(bytes);
+        downloadTime.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+    
+    private static DistributionSummary bytes(MeterRegistry meterRegistry, String direction) {
+        return DistributionSummary.builder("hicms.documents.bytes")
+                .baseUnit("bytes")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+    
+    private static Timer time(MeterRegistry meterRegistry, String direction) {
+        return Timer.builder("hicms.documents.transfer")
+                .tag("direction", direction)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,29 @@
+package com.hicms.repository;
+
+import com.hicms.dto.ClaimDTO;
+import com.hicms.entity.ClaimStatus;
+import org.springframework.data.domain.Pageable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keyset pagination over the claim list, newest first, ordered by (createdDate, claimId).
+ * Null filters are left out of the query; the Pageable only carries the LIMIT.
+ */
+public interface ClaimPageRepository {
+    
+    List<ClaimDTO> findClaimsFirstPage(ClaimStatus status, Long claimantId, Long agentId, Long adjusterId,
+                                       Pageable pageable);
+    
+    /**
+     * The claims that follow the cursor row in the listing
+     */
+    List<ClaimDTO> findClaimsAfterCursor(ClaimStatus status, Long claimantId, Long agentId, Long adjusterId,
+                                         LocalDateTime cursorDate, Long cursorId, Pageable pageable);
+    
+    /**
+     * The claims that precede the cursor row, nearest first, so callers reverse the result
+     */
+    List<ClaimDTO> findClaimsBeforeCursor(ClaimStatus status, Long claimantId, Long agentId, Long adjusterId,
+                                          LocalDateTime cursorDate, Long cursorId, Pageable pageable);
+}
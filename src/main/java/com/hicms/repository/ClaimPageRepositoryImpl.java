@@ -0,0 +1,88 @@
+package com.hicms.repository;
+
+import com.hicms.dto.ClaimDTO;
+import com.hicms.entity.ClaimStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds each keyset page query with a predicate only for the scope filters
+ * that are set. Every scope (admin, claimant, agent, adjuster, with or without
+ * a status) gets its own statement and plan on the index that leads with its
+ * column, instead of sharing one plan over catch-all "(:x IS NULL OR ...)"
+ * predicates that the optimizer cannot narrow.
+ */
+@RequiredArgsConstructor
+public class ClaimPageRepositoryImpl implements ClaimPageRepository {
+    
+    private final EntityManager entityManager;
+    
+    @Override
+    public List<ClaimDTO> findClaimsFirstPage(ClaimStatus status, Long claimantId, Long agentId, Long adjusterId,
+                                              Pageable pageable) {
+        return findPage(status, claimantId, agentId, adjusterId, null, null, true, pageable);
+    }
+    
+    @Override
+    public List<ClaimDTO> findClaimsAfterCursor(ClaimStatus status, Long claimantId, Long agentId, Long adjusterId,
+                                                LocalDateTime cursorDate, Long cursorId, Pageable pageable) {
+        return findPage(status, claimantId, agentId, adjusterId, cursorDate, cursorId, true, pageable);
+    }
+    
+    @Override
+    public List<ClaimDTO> findClaimsBeforeCursor(ClaimStatus status, Long claimantId, Long agentId, Long adjusterId,
+                                                 LocalDateTime cursorDate, Long cursorId, Pageable pageable) {
+        // Ascending so the LIMIT keeps the rows closest to the cursor
+        return findPage(status, claimantId, agentId, adjusterId, cursorDate, cursorId, false, pageable);
+    }
+    
+    private List<ClaimDTO> findPage(ClaimStatus status, Long claimantId, Long agentId, Long adjusterId,
+                                    LocalDateTime cursorDate, Long cursorId, boolean descending, Pageable pageable) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        
+        if (status != null) {
+            predicates.add("c.claimStatus = :status");
+            parameters.put("status", status);
+        }
+        if (claimantId != null) {
+            predicates.add("c.claimant.userId = :claimantId");
+            parameters.put("claimantId", claimantId);
+        }
+        if (agentId != null) {
+            predicates.add("c.agent.userId = :agentId");
+            parameters.put("agentId", agentId);
+        }
+        if (adjusterId != null) {
+            predicates.add("c.adjuster.userId = :adjusterId");
+            parameters.put("adjusterId", adjusterId);
+        }
+        if (cursorDate != null) {
+            String beyond = descending ? "<" : ">";
+            // The leading range on createdDate alone is what lets the index seek to the cursor;
+            // the OR that breaks ties on claimId cannot be used as an index range by itself
+            predicates.add("c.createdDate " + beyond + "= :cursorDate AND (c.createdDate " + beyond + " :cursorDate " +
+                    "OR (c.createdDate = :cursorDate AND c.claimId " + beyond + " :cursorId))");
+            parameters.put("cursorDate", cursorDate);
+            parameters.put("cursorId", cursorId);
+        }
+        
+        StringBuilder jpql = new StringBuilder(ClaimRepository.CLAIM_DTO_SELECT);
+        if (!predicates.isEmpty()) {
+            jpql.append("WHERE ").append(String.join(" AND ", predicates)).append(' ');
+        }
+        String direction = descending ? "DESC" : "ASC";
+        jpql.append("ORDER BY c.createdDate ").append(direction).append(", c.claimId ").append(direction);
+        
+        TypedQuery<ClaimDTO> query = entityManager.createQuery(jpql.toString(), ClaimDTO.class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(pageable.getPageSize()).getResultList();
+    }
+}
@@ -1,11 +1,18 @@
 package com.hicms.repository;
 
+import com.hicms.dto.ClaimDTO;
 import com.hicms.entity.Claim;
 import com.hicms.entity.ClaimStatus;
+import com.hicms.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,7 +20,22 @@ import java.util.Optional;
  * Repository for Claim entity
  */
 @Repository
-public interface ClaimRepository extends JpaRepository<Claim, Long> {
+public interface ClaimRepository extends JpaRepository<Claim, Long>, ClaimSearchRepository, ClaimPageRepository {
+    
+    // Builds ClaimDTO rows in a single select with explicit joins, so list pages
+    // never touch the lazy policy/claimant/agent/adjuster associations.
+    // The joins are entity joins on the foreign keys, so a filter such as c.claimant.userId = :id
+    // stays a predicate on the claims column that the claims indexes serve; with association
+    // joins Hibernate would compare the joined users row instead (cl.user_id = ?).
+    String CLAIM_DTO_SELECT = "SELECT new com.hicms.dto.ClaimDTO(c.claimId, c.claimNumber, " +
+            "p.policyId, p.policyName, p.policyNumber, cl.userId, cl.fullName, " +
+            "ag.userId, ag.fullName, ad.userId, ad.fullName, " +
+            "c.claimAmount, c.approvedAmount, p.coverageAmount, c.claimDate, c.description, c.reason, " +
+            "c.claimStatus, c.remarks, c.createdDate) " +
+            "FROM Claim c JOIN Policy p ON p.policyId = c.policy.policyId " +
+            "JOIN User cl ON cl.userId = c.claimant.userId " +
+            "LEFT JOIN User ag ON ag.userId = c.agent.userId " +
+            "LEFT JOIN User ad ON ad.userId = c.adjuster.userId ";
     
     Optional<Claim> findByClaimNumber(String claimNumber);
     
@@ -42,4 +64,115 @@ public interface ClaimRepository extends JpaRepository<Claim, Long> {
     
     @Query("SELECT COUNT(c) FROM Claim c WHERE c.claimStatus = :status")
     long countByClaimStatus(@Param("status") ClaimStatus status);
+    
+    @Query("SELECT COUNT(c) FROM Claim c WHERE c.adjuster IS NULL AND c.claimStatus = 'PENDING'")
+    long countUnassignedClaims();
+    
+    @Query(CLAIM_DTO_SELECT + "WHERE c.claimant.userId = :userId")
+    List<ClaimDTO> findClaimDTOsByClaimant(@Param("userId") Long claimantId);
+    
+    @Query(CLAIM_DTO_SELECT + "WHERE c.agent.userId = :userId")
+    List<ClaimDTO> findClaimDTOsByAgent(@Param("userId") Long agentId);
+    
+    @Query(CLAIM_DTO_SELECT + "WHERE c.adjuster.userId = :userId")
+    List<ClaimDTO> findClaimDTOsByAdjuster(@Param("userId") Long adjusterId);
+    
+    @Query(CLAIM_DTO_SELECT + "WHERE c.claimStatus = 'PENDING' OR c.claimStatus = 'UNDER_REVIEW'")
+    List<ClaimDTO> findPendingClaimDTOs();
+    
+    @Query(CLAIM_DTO_SELECT + "WHERE ad IS NULL AND c.claimStatus = 'PENDING'")
+    List<ClaimDTO> findUnassignedClaimDTOs();
+    
+    // Conditional state transitions: each is one UPDATE that only matches while the claim is still
+    // in an allowed source status, and the returned row count says whether this caller won.
+    
+    @Modifying
+    @Query("UPDATE Claim c SET c.claimStatus = :target, c.updatedDate = CURRENT_TIMESTAMP " +
+           "WHERE c.claimId = :claimId AND c.claimStatus IN :sources")
+    int transitionStatus(@Param("claimId") Long claimId,
+                         @Param("sources") Collection<ClaimStatus> sources,
+                         @Param("target") ClaimStatus target);
+    
+    // Fails while another adjuster holds the claim, unless their work queue lease has run out
+    @Modifying
+    @Query("UPDATE Claim c SET c.adjuster = :adjuster, c.claimStatus = :target, c.leaseExpiresAt = NULL, " +
+           "c.updatedDate = CURRENT_TIMESTAMP " +
+           "WHERE c.claimId = :claimId AND c.claimStatus IN :sources " +
+           "AND (c.adjuster IS NULL OR c.adjuster = :adjuster OR c.leaseExpiresAt < :now)")
+    int assignAdjuster(@Param("claimId") Long claimId,
+                       @Param("adjuster") User adjuster,
+                       @Param("sources") Collection<ClaimStatus> sources,
+                       @Param("target") ClaimStatus target,
+                       @Param("now") LocalDateTime now);
+    
+    // Same holder rule as assignAdjuster: a claim under review or leased by another adjuster is theirs to decide
+    @Modifying
+    @Query("UPDATE Claim c SET c.adjuster = :adjuster, c.claimStatus = :target, c.approvedAmount = :approvedAmount, " +
+           "c.remarks = :remarks, c.leaseExpiresAt = NULL, c.updatedDate = CURRENT_TIMESTAMP " +
+           "WHERE c.claimId = :claimId AND c.claimStatus IN :sources " +
+           "AND (c.adjuster IS NULL OR c.adjuster = :adjuster OR c.leaseExpiresAt < :now)")
+    int reviewClaim(@Param("claimId") Long claimId,
+                    @Param("adjuster") User adjuster,
+                    @Param("sources") Collection<ClaimStatus> sources,
+                    @Param("target") ClaimStatus target,
+                    @Param("approvedAmount") BigDecimal approvedAmount,
+                    @Param("remarks") String remarks,
+                    @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Claim c SET c.claimAmount = :claimAmount, c.description = :description, c.reason = :reason, " +
+           "c.updatedDate = CURRENT_TIMESTAMP WHERE c.claimId = :claimId AND c.claimStatus = :status")
+    int updateClaimDetails(@Param("claimId") Long claimId,
+                           @Param("status") ClaimStatus requiredStatus,
+                           @Param("claimAmount") BigDecimal claimAmount,
+                           @Param("description") String description,
+                           @Param("reason") String reason);
+    
+    @Query(CLAIM_DTO_SELECT + "WHERE c.claimId IN :ids ORDER BY c.createdDate, c.claimId")
+    List<ClaimDTO> findClaimDTOsByIds(@Param("ids") Collection<Long> claimIds);
+    
+    // Work queue: PENDING claims that nobody holds, or whose lease has run out, oldest first.
+    // Rows locked by another adjuster's lease request are skipped rather than waited on.
+    @Query(value = "SELECT claim_id FROM claims " +
+                   "WHERE claim_status = 'PENDING' AND (adjuster_id IS NULL OR lease_expires_at < :now) " +
+                   "ORDER BY created_date, claim_id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockAvailableClaimIds(@Param("now") LocalDateTime now, @Param("limit") int limit);
+    
+    @Modifying
+    @Query(value = "UPDATE claims SET adjuster_id = :adjusterId, lease_expires_at = :leaseExpiresAt, " +
+                   "updated_date = CURRENT_TIMESTAMP " +
+                   "WHERE claim_id IN (:ids) AND claim_status = 'PENDING' " +
+                   "AND (adjuster_id IS NULL OR lease_expires_at < :now)",
+           nativeQuery = true)
+    int leaseClaims(@Param("ids") Collection<Long> claimIds,
+                    @Param("adjusterId") Long adjusterId,
+                    @Param("leaseExpiresAt") LocalDateTime leaseExpiresAt,
+                    @Param("now") LocalDateTime now);
+    
+    @Modifying
+    @Query(value = "UPDATE claims SET adjuster_id = NULL, lease_expires_at = NULL, updated_date = CURRENT_TIMESTAMP " +
+                   "WHERE claim_id = :claimId AND adjuster_id = :adjusterId " +
+                   "AND claim_status = 'PENDING' AND lease_expires_at IS NOT NULL",
+           nativeQuery = true)
+    int releaseLease(@Param("claimId") Long claimId, @Param("adjusterId") Long adjusterId);
+    
+    @Modifying
+    @Query(value = "UPDATE claims SET adjuster_id = NULL, lease_expires_at = NULL, updated_date = CURRENT_TIMESTAMP " +
+                   "WHERE claim_status = 'PENDING' AND lease_expires_at < :now",
+           nativeQuery = true)
+    int releaseExpiredLeases(@Param("now") LocalDateTime now);
+    
+    // Rows of [adjusterId, open claims]: claims under review plus unexpired leases
+    @Query("SELECT c.adjuster.userId, COUNT(c) FROM Claim c WHERE c.adjuster IS NOT NULL " +
+           "AND (c.claimStatus = 'UNDER_REVIEW' OR (c.claimStatus = 'PENDING' AND c.leaseExpiresAt > :now)) " +
+           "GROUP BY c.adjuster.userId")
+    List<Object[]> countOpenClaimsGroupedByAdjuster(@Param("now") LocalDateTime now);
+    
+    @Query("SELECT c.claimStatus, COUNT(c) FROM Claim c GROUP BY c.claimStatus")
+    List<Object[]> countClaimsGroupedByStatus();
+    
+    @Query(CLAIM_DTO_SELECT + "WHERE c.claimStatus = 'PENDING' OR c.claimStatus = 'UNDER_REVIEW' " +
+           "ORDER BY c.createdDate DESC, c.claimId DESC")
+    List<ClaimDTO> findRecentPendingClaimDTOs(Pageable pageable);
 }
@@ -0,0 +1,16 @@
+package com.hicms.repository;
+
+import com.hicms.dto.ClaimDTO;
+import com.hicms.dto.ClaimSearchCriteriaDTO;
+import java.util.List;
+
+/**
+ * Claim queries assembled at runtime from whichever filters are set
+ */
+public interface ClaimSearchRepository {
+    
+    /**
+     * Up to limit claims matching every set filter, skipping the first offset rows
+     */
+    List<ClaimDTO> searchClaims(ClaimSearchCriteriaDTO criteria, int offset, int limit);
+}
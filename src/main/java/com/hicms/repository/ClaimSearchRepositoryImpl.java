@@ -0,0 +1,111 @@
+package com.hicms.repository;
+
+import com.hicms.dto.ClaimDTO;
+import com.hicms.dto.ClaimSearchCriteriaDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Builds one JPQL select over the ClaimDTO projection with a predicate per set
+ * filter. Values are always bound as parameters; the sort column comes from a
+ * fixed list and claim id breaks ties so paging is stable.
+ */
+@RequiredArgsConstructor
+public class ClaimSearchRepositoryImpl implements ClaimSearchRepository {
+    
+    private final EntityManager entityManager;
+    
+    @Override
+    public List<ClaimDTO> searchClaims(ClaimSearchCriteriaDTO criteria, int offset, int limit) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new HashMap<>();
+        
+        if (criteria.getStatuses() != null && !criteria.getStatuses().isEmpty()) {
+            predicates.add("c.claimStatus IN :statuses");
+            parameters.put("statuses", criteria.getStatuses());
+        }
+        if (criteria.getClaimDateFrom() != null) {
+            predicates.add("c.claimDate >= :claimDateFrom");
+            parameters.put("claimDateFrom", criteria.getClaimDateFrom());
+        }
+        if (criteria.getClaimDateTo() != null) {
+            predicates.add("c.claimDate <= :claimDateTo");
+            parameters.put("claimDateTo", criteria.getClaimDateTo());
+        }
+        if (criteria.getMinAmount() != null) {
+            predicates.add("c.claimAmount >= :minAmount");
+            parameters.put("minAmount", criteria.getMinAmount());
+        }
+        if (criteria.getMaxAmount() != null) {
+            predicates.add("c.claimAmount <= :maxAmount");
+            parameters.put("maxAmount", criteria.getMaxAmount());
+        }
+        if (criteria.getPolicyId() != null) {
+            predicates.add("c.policy.policyId = :policyId");
+            parameters.put("policyId", criteria.getPolicyId());
+        }
+        if (criteria.getClaimantId() != null) {
+            predicates.add("c.claimant.userId = :claimantId");
+            parameters.put("claimantId", criteria.getClaimantId());
+        }
+        if (hasText(criteria.getClaimantName())) {
+            // Prefix only, so the users.full_name index can serve it; the matching users'
+            // claims are then found through the claimant index
+            predicates.add("c.claimant.userId IN (SELECT u.userId FROM User u "
+                    + "WHERE u.fullName LIKE :claimantName ESCAPE '!')");
+            parameters.put("claimantName", escapeLike(criteria.getClaimantName().trim()) + "%");
+        }
+        if (criteria.getAgentId() != null) {
+            predicates.add("c.agent.userId = :agentId");
+            parameters.put("agentId", criteria.getAgentId());
+        }
+        if (criteria.getAdjusterId() != null) {
+            predicates.add("c.adjuster.userId = :adjusterId");
+            parameters.put("adjusterId", criteria.getAdjusterId());
+        }
+        if (hasText(criteria.getText())) {
+            predicates.add("(LOWER(c.description) LIKE :text ESCAPE '!' OR LOWER(c.reason) LIKE :text ESCAPE '!')");
+            parameters.put("text", "%" + escapeLike(criteria.getText().trim().toLowerCase(Locale.ROOT)) + "%");
+        }
+        
+        StringBuilder jpql = new StringBuilder(ClaimRepository.CLAIM_DTO_SELECT);
+        if (!predicates.isEmpty()) {
+            jpql.append("WHERE ").append(String.join(" AND ", predicates)).append(' ');
+        }
+        String direction = criteria.getDirection() == Sort.Direction.ASC ? "ASC" : "DESC";
+        jpql.append("ORDER BY ").append(sortColumn(criteria.getSort())).append(' ').append(direction)
+                .append(", c.claimId ").append(direction);
+        
+        TypedQuery<ClaimDTO> query = entityManager.createQuery(jpql.toString(), ClaimDTO.class);
+        parameters.forEach(query::setParameter);
+        return query.setFirstResult(offset).setMaxResults(limit).getResultList();
+    }
+    
+    private static String sortColumn(ClaimSearchCriteriaDTO.SortField sort) {
+        if (sort == null) {
+            return "c.createdDate";
+        }
+        return switch (sort) {
+            case CLAIM_DATE -> "c.claimDate";
+            case CLAIM_AMOUNT -> "c.claimAmount";
+            case CLAIM_STATUS -> "c.claimStatus";
+            case CREATED_DATE -> "c.createdDate";
+        };
+    }
+    
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+    
+    // '!' rather than a backslash, which MySQL would also treat as an escape inside the literal
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
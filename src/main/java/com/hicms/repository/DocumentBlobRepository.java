@@ -0,0 +1,38 @@
+package com.hicms.repository;
+
+import com.hicms.entity.DocumentBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Optional;
+
+/**
+ * Repository for DocumentBlob entity
+ */
+@Repository
+public interface DocumentBlobRepository extends JpaRepository<DocumentBlob, Long> {
+    
+    Optional<DocumentBlob> findByContentHash(String contentHash);
+    
+    // Atomic upsert: concurrent uploads of the same content serialise on the row lock
+    @Modifying
+    @Query(value = "INSERT INTO document_blobs (content_hash, blob_path, file_size, reference_count, created_date) " +
+                   "VALUES (:hash, :path, :size, 1, CURRENT_TIMESTAMP) " +
+                   "ON DUPLICATE KEY UPDATE reference_count = reference_count + 1",
+           nativeQuery = true)
+    int addReference(@Param("hash") String contentHash, @Param("path") String blobPath, @Param("size") long fileSize);
+    
+    @Modifying
+    @Query("UPDATE DocumentBlob b SET b.referenceCount = b.referenceCount - 1 WHERE b.contentHash = :hash")
+    int removeReference(@Param("hash") String contentHash);
+    
+    // Scalar read so a count changed by the bulk updates above is never served from the persistence context
+    @Query("SELECT b.referenceCount FROM DocumentBlob b WHERE b.contentHash = :hash")
+    Optional<Long> findReferenceCount(@Param("hash") String contentHash);
+    
+    @Modifying
+    @Query("DELETE FROM DocumentBlob b WHERE b.contentHash = :hash AND b.referenceCount <= 0")
+    int deleteUnreferenced(@Param("hash") String contentHash);
+}
@@ -3,9 +3,12 @@ package com.hicms.repository;
 import com.hicms.entity.PolicyEnrollment;
 import com.hicms.entity.PolicyEnrollment.EnrollmentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -31,6 +34,37 @@ public interface PolicyEnrollmentRepository extends JpaRepository<PolicyEnrollme
     boolean existsByPolicyholderUserIdAndPolicyPolicyIdAndEnrollmentStatusIn(
             Long policyholderId, Long policyId, List<EnrollmentStatus> statuses);
     
+    // Rows of [policyholderId, policyId, coverageAmount] for every matching enrollment among the given users and policies
+    @Query("SELECT pe.policyholder.userId, p.policyId, p.coverageAmount FROM PolicyEnrollment pe JOIN pe.policy p " +
+           "WHERE pe.enrollmentStatus IN :statuses AND pe.policyholder.userId IN :userIds AND p.policyId IN :policyIds")
+    List<Object[]> findEnrolledCoverage(@Param("userIds") Collection<Long> userIds,
+                                        @Param("policyIds") Collection<Long> policyIds,
+                                        @Param("statuses") List<EnrollmentStatus> statuses);
+    
+    // Rows of [policyholderId, policyId, enrollmentStatus]
+    @Query("SELECT pe.policyholder.userId, pe.policy.policyId, pe.enrollmentStatus FROM PolicyEnrollment pe " +
+           "WHERE pe.enrollmentStatus IN :statuses")
+    List<Object[]> findPolicyholderPoliciesByStatus(@Param("statuses") List<EnrollmentStatus> statuses);
+    
+    @Query("SELECT pe.policyholder.userId, pe.policy.policyId, pe.enrollmentStatus FROM PolicyEnrollment pe " +
+           "WHERE pe.policyholder.userId IN :userIds AND pe.enrollmentStatus IN :statuses")
+    List<Object[]> findPolicyholderPoliciesByStatus(@Param("userIds") Collection<Long> userIds,
+                                                    @Param("statuses") List<EnrollmentStatus> statuses);
+    
+    // Rows of [enrollmentId, policyholderId]; rows locked by another node's expiry run are skipped
+    @Query(value = "SELECT enrollment_id, policyholder_id FROM policy_enrollments " +
+                   "WHERE enrollment_status = 'ACTIVE' AND end_date < :asOf " +
+                   "ORDER BY end_date, enrollment_id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Object[]> lockEnrollmentsDueForExpiry(@Param("asOf") LocalDate asOf, @Param("limit") int limit);
+    
+    @Modifying
+    @Query("UPDATE PolicyEnrollment pe SET pe.enrollmentStatus = :expired, pe.updatedDate = CURRENT_TIMESTAMP " +
+           "WHERE pe.enrollmentId IN :ids AND pe.enrollmentStatus = :active")
+    int expireEnrollments(@Param("ids") Collection<Long> enrollmentIds,
+                          @Param("active") EnrollmentStatus active,
+                          @Param("expired") EnrollmentStatus expired);
+    
     @Query("SELECT pe FROM PolicyEnrollment pe WHERE pe.enrollmentStatus = 'ACTIVE' AND pe.policyholder.userId = :userId")
     List<PolicyEnrollment> findActiveEnrollmentsByUser(@Param("userId") Long userId);
 }
@@ -3,6 +3,9 @@ package com.hicms.repository;
 import com.hicms.entity.Policy;
 import com.hicms.entity.PolicyStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -24,4 +27,19 @@ public interface PolicyRepository extends JpaRepository<Policy, Long> {
     List<Policy> findByCreatedByUserId(Long userId);
     
     List<Policy> findByPolicyNameContainingIgnoreCase(String policyName);
+    
+    @Query("SELECT p.policyStatus, COUNT(p) FROM Policy p GROUP BY p.policyStatus")
+    List<Object[]> countPoliciesGroupedByStatus();
+    
+    // Loads the whole catalog with its creators, for the in-memory snapshot
+    @Query("SELECT p FROM Policy p LEFT JOIN FETCH p.createdBy ORDER BY p.policyId")
+    List<Policy> findAllWithCreator();
+    
+    @Modifying
+    @Query(value = "UPDATE catalog_versions SET version = version + 1 WHERE catalog_name = :name",
+           nativeQuery = true)
+    int incrementCatalogVersion(@Param("name") String catalogName);
+    
+    @Query(value = "SELECT version FROM catalog_versions WHERE catalog_name = :name", nativeQuery = true)
+    Optional<Long> findCatalogVersion(@Param("name") String catalogName);
 }
@@ -2,6 +2,7 @@ package com.hicms.repository;
 
 import com.hicms.entity.SupportTicket;
 import com.hicms.entity.TicketStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -29,5 +30,15 @@ public interface SupportTicketRepository extends JpaRepository<SupportTicket, Lo
     @Query("SELECT COUNT(st) FROM SupportTicket st WHERE st.ticketStatus = :status")
     long countByTicketStatus(@Param("status") TicketStatus status);
     
-    List<SupportTicket> findByUserUserIdOrderByCreatedDateDesc(Long userId);
+    // Derived from the method name this would join users just to compare their id
+    @Query("SELECT st FROM SupportTicket st WHERE st.user.userId = :userId ORDER BY st.createdDate DESC")
+    List<SupportTicket> findByUserUserIdOrderByCreatedDateDesc(@Param("userId") Long userId);
+    
+    @Query("SELECT st.ticketStatus, COUNT(st) FROM SupportTicket st GROUP BY st.ticketStatus")
+    List<Object[]> countTicketsGroupedByStatus();
+    
+    @Query("SELECT st FROM SupportTicket st JOIN FETCH st.user " +
+           "WHERE st.ticketStatus = 'OPEN' OR st.ticketStatus = 'IN_PROGRESS' " +
+           "ORDER BY st.createdDate DESC, st.ticketId DESC")
+    List<SupportTicket> findRecentOpenTickets(Pageable pageable);
 }
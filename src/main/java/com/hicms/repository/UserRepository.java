@@ -3,6 +3,8 @@ package com.hicms.repository;
 import com.hicms.entity.User;
 import com.hicms.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -26,4 +28,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findByEnabledTrue();
     
     List<User> findByRoleAndEnabledTrue(Role role);
+    
+    @Query("SELECT u.userId FROM User u WHERE u.role = :role AND u.enabled = true ORDER BY u.userId")
+    List<Long> findEnabledUserIdsByRole(@Param("role") Role role);
+    
+    @Query("SELECT u.role, COUNT(u) FROM User u GROUP BY u.role")
+    List<Object[]> countUsersGroupedByRole();
 }
@@ -0,0 +1,33 @@
+package com.hicms.security;
+
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each account last changed so that principals stored in
+ * existing sessions can be detected as stale and reloaded
+ */
+@Component
+public class AccountChangeTracker {
+    
+    private final Map<Long, Long> lastChanged = new ConcurrentHashMap<>();
+    
+    // Runs before the user details cache evicts, see UserDetailsCache#put
+    @Order(0)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(UserAccountChangedEvent event) {
+        lastChanged.put(event.userId(), System.currentTimeMillis());
+    }
+    
+    public boolean isStale(AuthenticatedUser principal) {
+        return changedSince(principal.getUserId(), principal.getLoadedAt());
+    }
+    
+    public boolean changedSince(Long userId, long timestamp) {
+        Long changedAt = lastChanged.get(userId);
+        return changedAt != null && timestamp <= changedAt;
+    }
+}
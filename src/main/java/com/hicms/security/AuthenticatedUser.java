@@ -0,0 +1,55 @@
+package com.hicms.security;
+
+import com.hicms.entity.Role;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import java.util.Collections;
+
+/**
+ * Authenticated principal carrying the account fields controllers need, so a
+ * request never has to look the current user up again after login
+ */
+@Getter
+public class AuthenticatedUser extends org.springframework.security.core.userdetails.User {
+    
+    private final Long userId;
+    
+    private final Role role;
+    
+    private final String fullName;
+    
+    // When this snapshot was read from the database, compared against account changes
+    private final long loadedAt;
+    
+    public AuthenticatedUser(com.hicms.entity.User user) {
+        super(user.getUsername(),
+                user.getPassword(),
+                user.isEnabled(),
+                true, // accountNonExpired
+                true, // credentialsNonExpired
+                true, // accountNonLocked
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())));
+        this.userId = user.getUserId();
+        this.role = user.getRole();
+        this.fullName = user.getFullName();
+        this.loadedAt = System.currentTimeMillis();
+    }
+    
+    /**
+     * Copies a principal, so a cached instance is never handed to the
+     * authentication manager, which erases the password of what it receives
+     */
+    public AuthenticatedUser(AuthenticatedUser source) {
+        super(source.getUsername(),
+                source.getPassword(),
+                source.isEnabled(),
+                true,
+                true,
+                true,
+                source.getAuthorities());
+        this.userId = source.getUserId();
+        this.role = source.getRole();
+        this.fullName = source.getFullName();
+        this.loadedAt = source.getLoadedAt();
+    }
+}
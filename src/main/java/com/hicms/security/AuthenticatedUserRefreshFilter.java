@@ -0,0 +1,61 @@
+package com.hicms.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+
+/**
+ * Replaces the session's AuthenticatedUser when the account changed after it
+ * was loaded; a disabled or deleted account is signed out
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class AuthenticatedUserRefreshFilter extends OncePerRequestFilter {
+    
+    private final AccountChangeTracker changeTracker;
+    private final UserDetailsService userDetailsService;
+    private final SecurityContextRepository securityContextRepository;
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        SecurityContext context = SecurityContextHolder.getContext();
+        Authentication authentication = context.getAuthentication();
+        
+        if (authentication != null
+                && authentication.getPrincipal() instanceof AuthenticatedUser principal
+                && changeTracker.isStale(principal)) {
+            SecurityContext refreshed = SecurityContextHolder.createEmptyContext();
+            try {
+                UserDetails current = userDetailsService.loadUserByUsername(principal.getUsername());
+                if (current.isEnabled()) {
+                    UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.authenticated(
+                            current, null, current.getAuthorities());
+                    token.setDetails(authentication.getDetails());
+                    refreshed.setAuthentication(token);
+                } else {
+                    log.info("Signing out disabled user {}", principal.getUsername());
+                }
+            } catch (UsernameNotFoundException e) {
+                log.info("Signing out deleted user {}", principal.getUsername());
+            }
+            SecurityContextHolder.setContext(refreshed);
+            securityContextRepository.saveContext(refreshed, request, response);
+        }
+        
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,8 @@
+package com.hicms.security;
+
+/**
+ * Published when an account's role, profile or enabled flag changes, or the
+ * account is deleted, so cached principals can be refreshed
+ */
+public record UserAccountChangedEvent(Long userId, String username) {
+}
@@ -0,0 +1,128 @@
+package com.hicms.security;
+
+import com.hicms.dto.UserCacheStatisticsDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of authenticated principals with a TTL. Entries for an
+ * account are evicted as soon as a change to it commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDetailsCache {
+    
+    private final AccountChangeTracker changeTracker;
+    
+    @Value("${app.security.user-cache.ttl-seconds:300}")
+    private long ttlSeconds;
+    
+    @Value("${app.security.user-cache.max-size:1000}")
+    private int maxSize;
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    // Access-ordered, so the eldest entry is the least recently used one; guarded by itself
+    private final Map<String, CachedUser> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedUser> eldest) {
+            boolean evict = size() > maxSize;
+            if (evict) {
+                evictions.increment();
+            }
+            return evict;
+        }
+    };
+    
+    /**
+     * Returns a copy of the cached principal, loading and caching it on a miss.
+     * Exceptions from the loader (e.g. unknown username) propagate and nothing is cached.
+     */
+    public AuthenticatedUser get(String username, Function<String, AuthenticatedUser> loader) {
+        if (ttlSeconds <= 0) {
+            return loader.apply(username);
+        }
+        
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            CachedUser cached = entries.get(username);
+            if (cached != null) {
+                if (cached.expiresAt() > now) {
+                    hits.increment();
+                    return new AuthenticatedUser(cached.user());
+                }
+                entries.remove(username);
+                evictions.increment();
+            }
+        }
+        
+        misses.increment();
+        AuthenticatedUser loaded = loader.apply(username);
+        put(username, loaded, now);
+        return new AuthenticatedUser(loaded);
+    }
+    
+    private void put(String username, AuthenticatedUser user, long loadStartedAt) {
+        // A change that committed while we were reading may not be visible in what we read,
+        // and its eviction may already have run, so such a snapshot must not be cached
+        if (changeTracker.changedSince(user.getUserId(), loadStartedAt)) {
+            return;
+        }
+        synchronized (entries) {
+            entries.put(username, new CachedUser(user, loadStartedAt + ttlSeconds * 1000));
+        }
+    }
+    
+    @Order(1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(UserAccountChangedEvent event) {
+        evict(event.userId());
+    }
+    
+    public void evict(Long userId) {
+        synchronized (entries) {
+            // Keyed by the username as typed at login, so match on the id to catch every alias
+            if (entries.values().removeIf(cached -> cached.user().getUserId().equals(userId))) {
+                evictions.increment();
+            }
+        }
+    }
+    
+    public void clear() {
+        synchronized (entries) {
+            evictions.add(entries.size());
+            entries.clear();
+        }
+    }
+    
+    public UserCacheStatisticsDTO getStatistics() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return UserCacheStatisticsDTO.builder()
+                .size(size)
+                .maxSize(maxSize)
+                .ttlSeconds(ttlSeconds)
+                .hitCount(hitCount)
+                .missCount(missCount)
+                .evictionCount(evictions.sum())
+                .hitRatio(requests == 0 ? 0.0 : (double) hitCount / requests)
+                .build();
+    }
+    
+    private record CachedUser(AuthenticatedUser user, long expiresAt) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.hicms.service;
+
+/**
+ * Generates human-readable business numbers such as CLM-20240115-000042
+ */
+public interface BusinessNumberGenerator {
+    
+    String nextNumber(String prefix);
+}
@@ -0,0 +1,28 @@
+package com.hicms.service;
+
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Decides how the claim work queue shares PENDING claims between adjusters
+ * who pull work concurrently. Selected by app.claims.queue.distribution.
+ */
+public interface ClaimDistributionPolicy {
+    
+    String getName();
+    
+    /**
+     * How many claims the adjuster may lease now, at most the number requested
+     */
+    default int allowance(Long adjusterId, int requested) {
+        return requested;
+    }
+    
+    /**
+     * Picks up to allowance claim ids for the adjuster. lockCandidates locks and returns the
+     * given number of available claims, oldest first; it is called once per lease.
+     */
+    default List<Long> select(Long adjusterId, int allowance, IntFunction<List<Long>> lockCandidates) {
+        return lockCandidates.apply(allowance);
+    }
+}
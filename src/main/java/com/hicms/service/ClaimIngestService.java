@@ -0,0 +1,26 @@
+package com.hicms.service;
+
+import com.hicms.dto.ClaimIngestResultDTO;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for bulk claim submission
+ */
+public interface ClaimIngestService {
+    
+    enum Format {
+        NDJSON,
+        CSV
+    }
+    
+    /**
+     * Reads claims line by line and submits them in chunks. The results of a
+     * chunk, in line order, are passed to the consumer once it has been
+     * committed or rejected. agentId is recorded on every claim and may be null.
+     */
+    void ingestClaims(Reader reader, Format format, Long agentId, Consumer<List<ClaimIngestResultDTO>> results)
+            throws IOException;
+}
@@ -0,0 +1,16 @@
+package com.hicms.service;
+
+import com.hicms.dto.ClaimSearchCriteriaDTO;
+import com.hicms.dto.ClaimSearchPageDTO;
+
+/**
+ * Service interface for multi-criteria claim search
+ */
+public interface ClaimSearchService {
+    
+    /**
+     * One page of claims matching every set filter. Throws IllegalArgumentException
+     * when the filters cannot be answered from an index.
+     */
+    ClaimSearchPageDTO searchClaims(ClaimSearchCriteriaDTO criteria);
+}
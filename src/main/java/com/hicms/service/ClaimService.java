@@ -1,9 +1,11 @@
 package com.hicms.service;
 
 import com.hicms.dto.ClaimDTO;
+import com.hicms.dto.ClaimPageDTO;
 import com.hicms.dto.ClaimReviewDTO;
 import com.hicms.entity.Claim;
 import com.hicms.entity.ClaimStatus;
+import com.hicms.entity.Role;
 import com.hicms.entity.User;
 import java.util.List;
 import java.util.Optional;
@@ -37,11 +39,36 @@ public interface ClaimService {
     
     List<Claim> findUnassignedClaims();
     
-    Claim assignAdjuster(Long claimId, User adjuster);
+    List<ClaimDTO> findClaimDTOsByClaimant(Long claimantId);
     
-    Claim reviewClaim(Long claimId, ClaimReviewDTO reviewDTO, User adjuster);
+    List<ClaimDTO> findClaimDTOsByAgent(Long agentId);
     
-    Claim updateClaimStatus(Long claimId, ClaimStatus status);
+    List<ClaimDTO> findClaimDTOsByAdjuster(Long adjusterId);
+    
+    List<ClaimDTO> findPendingClaimDTOs();
+    
+    List<ClaimDTO> findUnassignedClaimDTOs();
+    
+    List<ClaimDTO> findRecentPendingClaimDTOs(int limit);
+    
+    /**
+     * Throws IllegalArgumentException when a cursor was not produced by a previous page
+     */
+    ClaimPageDTO findClaimPage(Role role, Long userId, ClaimStatus status,
+                               String afterCursor, String beforeCursor, Integer size);
+    
+    /**
+     * The transition methods below each run as one conditional UPDATE and
+     * return false when the claim was not in a status they may move it from
+     * (see ClaimStatus#canTransitionTo), e.g. because a concurrent request won.
+     * Assigning and reviewing also return false while another adjuster holds the
+     * claim and their work queue lease, if any, has not run out.
+     */
+    boolean assignAdjuster(Long claimId, User adjuster);
+    
+    boolean reviewClaim(Long claimId, ClaimReviewDTO reviewDTO, User adjuster);
+    
+    boolean updateClaimStatus(Long claimId, ClaimStatus status);
     
     ClaimDTO convertToDTO(Claim claim);
     
@@ -51,5 +78,5 @@ public interface ClaimService {
     
     long countClaimsByStatus(ClaimStatus status);
     
-    Claim updateClaim(Long claimId, ClaimDTO claimDTO);
+    boolean updateClaim(Long claimId, ClaimDTO claimDTO);
 }
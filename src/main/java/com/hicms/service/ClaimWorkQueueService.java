@@ -0,0 +1,20 @@
+package com.hicms.service;
+
+import com.hicms.dto.ClaimDTO;
+import java.util.List;
+
+/**
+ * Service interface for the adjuster claim work queue.
+ * Leased claims are held by one adjuster until assigned, reviewed, released
+ * or the lease expires.
+ */
+public interface ClaimWorkQueueService {
+    
+    List<ClaimDTO> leaseNextClaims(Long adjusterId, int count);
+    
+    boolean releaseLease(Long claimId, Long adjusterId);
+    
+    int releaseExpiredLeases();
+    
+    String getDistributionPolicyName();
+}
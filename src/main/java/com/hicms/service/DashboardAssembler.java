@@ -0,0 +1,27 @@
+package com.hicms.service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Loads independent dashboard sections concurrently within a latency budget
+ */
+public interface DashboardAssembler {
+    
+    /**
+     * One independently loaded part of a dashboard. The loader returns the model
+     * attributes of the section; the placeholder is used instead when it fails or
+     * runs out of time.
+     */
+    record Section(String name, Supplier<Map<String, Object>> loader, Map<String, Object> placeholder) {
+    }
+    
+    /**
+     * Model attributes of every section, and the names of the sections that fell back to their placeholder
+     */
+    record Result(Map<String, Object> attributes, List<String> unavailableSections) {
+    }
+    
+    Result assemble(List<Section> sections);
+}
@@ -0,0 +1,7 @@
+package com.hicms.service;
+
+/**
+ * Published when a claim or support ticket change may have moved a live dashboard counter
+ */
+public record DashboardCountersChangedEvent() {
+}
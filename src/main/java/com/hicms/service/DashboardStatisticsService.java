@@ -0,0 +1,13 @@
+package com.hicms.service;
+
+import com.hicms.dto.DashboardStatisticsDTO;
+
+/**
+ * Service interface for aggregate dashboard statistics
+ */
+public interface DashboardStatisticsService {
+    
+    DashboardStatisticsDTO getStatistics();
+    
+    DashboardStatisticsDTO refreshStatistics();
+}
@@ -1,8 +1,10 @@
 package com.hicms.service;
 
 import com.hicms.dto.DocumentDTO;
+import com.hicms.dto.DocumentUploadResultDTO;
 import com.hicms.entity.Document;
 import com.hicms.entity.User;
+import com.hicms.storage.FileChannelResource;
 import org.springframework.web.multipart.MultipartFile;
 import java.util.List;
 import java.util.Optional;
@@ -14,6 +16,8 @@ public interface DocumentService {
     
     Document uploadDocument(Long claimId, MultipartFile file, User uploadedBy);
     
+    List<DocumentUploadResultDTO> uploadDocuments(Long claimId, List<MultipartFile> files, User uploadedBy);
+    
     Optional<Document> findById(Long documentId);
     
     List<Document> findByClaimId(Long claimId);
@@ -28,5 +32,7 @@ public interface DocumentService {
     
     byte[] getDocumentContent(Long documentId);
     
+    FileChannelResource getDocumentResource(Long documentId);
+    
     String getDocumentPath(Long documentId);
 }
@@ -0,0 +1,14 @@
+package com.hicms.service;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Published when enrollments of the given policyholders are created, change status or are deleted
+ */
+public record EnrollmentChangedEvent(Collection<Long> policyholderIds) {
+    
+    public EnrollmentChangedEvent(Long policyholderId) {
+        this(List.of(policyholderId));
+    }
+}
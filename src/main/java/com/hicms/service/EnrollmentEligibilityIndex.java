@@ -0,0 +1,16 @@
+package com.hicms.service;
+
+/**
+ * Answers "is this user enrolled in this policy" from memory
+ */
+public interface EnrollmentEligibilityIndex {
+    
+    boolean hasActiveEnrollment(Long userId, Long policyId);
+    
+    boolean hasActiveOrPendingEnrollment(Long userId, Long policyId);
+    
+    /**
+     * Rebuilds the index from the database and returns how many users had to be corrected
+     */
+    int reconcile();
+}
@@ -0,0 +1,15 @@
+package com.hicms.service;
+
+import com.hicms.dto.EnrollmentExpiryResultDTO;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Service interface for moving ACTIVE enrollments past their end date to EXPIRED
+ */
+public interface EnrollmentExpiryService {
+    
+    EnrollmentExpiryResultDTO expireEnrollments(LocalDate asOfDate);
+    
+    Optional<EnrollmentExpiryResultDTO> getLastRun();
+}
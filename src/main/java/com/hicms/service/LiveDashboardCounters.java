@@ -0,0 +1,14 @@
+package com.hicms.service;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes claim and ticket counters to open admin and adjuster dashboards
+ */
+public interface LiveDashboardCounters {
+    
+    /**
+     * Registers a dashboard. It first receives every counter, then only the counters that changed.
+     */
+    SseEmitter subscribe();
+}
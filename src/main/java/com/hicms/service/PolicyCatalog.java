@@ -0,0 +1,52 @@
+package com.hicms.service;
+
+import com.hicms.entity.Policy;
+import com.hicms.entity.PolicyStatus;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read-only view of the policy catalog served from memory.
+ * Entries are immutable values shared between callers; write paths load the
+ * Policy entity from PolicyRepository instead.
+ */
+public interface PolicyCatalog {
+    
+    /**
+     * One policy as it was when the snapshot was loaded
+     */
+    record CatalogPolicy(Long policyId, String policyNumber, String policyName, String description,
+                         BigDecimal coverageAmount, BigDecimal premiumAmount, Integer durationMonths,
+                         PolicyStatus policyStatus, String createdByUsername, LocalDate createdDate) {
+        
+        public static CatalogPolicy of(Policy policy) {
+            return new CatalogPolicy(policy.getPolicyId(), policy.getPolicyNumber(), policy.getPolicyName(),
+                    policy.getDescription(), policy.getCoverageAmount(), policy.getPremiumAmount(),
+                    policy.getDurationMonths(), policy.getPolicyStatus(),
+                    policy.getCreatedBy() != null ? policy.getCreatedBy().getUsername() : null,
+                    policy.getCreatedDate());
+        }
+    }
+    
+    List<CatalogPolicy> findAll();
+    
+    List<CatalogPolicy> findByStatus(PolicyStatus status);
+    
+    Optional<CatalogPolicy> findById(Long policyId);
+    
+    Optional<CatalogPolicy> findByPolicyNumber(String policyNumber);
+    
+    Optional<BigDecimal> findCoverageAmount(Long policyId);
+    
+    /**
+     * Catalog version the current snapshot was loaded at, -1 before the first load
+     */
+    long version();
+    
+    /**
+     * Reloads the snapshot from the database
+     */
+    void refresh();
+}
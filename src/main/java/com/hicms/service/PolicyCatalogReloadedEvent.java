@@ -0,0 +1,7 @@
+package com.hicms.service;
+
+/**
+ * Published when the version check reloads the policy catalog because another node changed it
+ */
+public record PolicyCatalogReloadedEvent(long version) {
+}
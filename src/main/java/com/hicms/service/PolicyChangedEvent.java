@@ -0,0 +1,7 @@
+package com.hicms.service;
+
+/**
+ * Published when a policy is created, updated, changes status or is deleted
+ */
+public record PolicyChangedEvent(Long policyId) {
+}
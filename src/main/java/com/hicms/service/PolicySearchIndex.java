@@ -0,0 +1,22 @@
+package com.hicms.service;
+
+import java.util.List;
+
+/**
+ * Ranked full-text search over policy name, number and description
+ */
+public interface PolicySearchIndex {
+    
+    /**
+     * One page of matching policy ids, best match first, and the total number of matches
+     */
+    record Hits(List<Long> policyIds, int total) {
+    }
+    
+    Hits search(String query, int offset, int limit);
+    
+    /**
+     * Rebuilds the whole index from the database
+     */
+    void rebuild();
+}
@@ -1,6 +1,7 @@
 package com.hicms.service;
 
 import com.hicms.dto.PolicyDTO;
+import com.hicms.dto.PolicySearchPageDTO;
 import com.hicms.entity.Policy;
 import com.hicms.entity.PolicyStatus;
 import com.hicms.entity.User;
@@ -16,15 +17,23 @@ public interface PolicyService {
     
     Policy updatePolicy(Long policyId, PolicyDTO policyDTO);
     
+    /**
+     * Loads the entity from the database, for callers that go on to change the policy
+     */
     Optional<Policy> findById(Long policyId);
     
     Optional<Policy> findByPolicyNumber(String policyNumber);
     
-    List<Policy> findAllPolicies();
+    /**
+     * Reads the policy from the in-memory catalog
+     */
+    Optional<PolicyDTO> findPolicyDTO(Long policyId);
     
-    List<Policy> findActivePolicies();
+    List<PolicyDTO> findAllPolicies();
     
-    List<Policy> findPoliciesByStatus(PolicyStatus status);
+    List<PolicyDTO> findActivePolicies();
+    
+    List<PolicyDTO> findPoliciesByStatus(PolicyStatus status);
     
     void deletePolicy(Long policyId);
     
@@ -34,5 +43,10 @@ public interface PolicyService {
     
     String generatePolicyNumber();
     
-    List<Policy> searchPolicies(String keyword);
+    List<PolicyDTO> searchPolicies(String keyword);
+    
+    /**
+     * One page of policies matching the keywords, best match first. page is zero-based.
+     */
+    PolicySearchPageDTO searchPolicies(String keyword, int page, Integer size);
 }
@@ -26,6 +26,8 @@ public interface SupportTicketService {
     
     List<SupportTicket> findOpenTickets();
     
+    List<SupportTicket> findRecentOpenTickets(int limit);
+    
     List<SupportTicket> findTicketsAssignedTo(Long userId);
     
     SupportTicket assignTicket(Long ticketId, User assignee);
@@ -4,6 +4,7 @@ import com.hicms.dto.UserDTO;
 import com.hicms.dto.UserRegistrationDTO;
 import com.hicms.entity.Role;
 import com.hicms.entity.User;
+import com.hicms.security.AuthenticatedUser;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,6 +21,8 @@ public interface UserService {
     
     Optional<User> findById(Long userId);
     
+    User getReference(Long userId);
+    
     List<User> findAllUsers();
     
     List<User> findUsersByRole(Role role);
@@ -30,6 +33,8 @@ public interface UserService {
     
     UserDTO convertToDTO(User user);
     
+    UserDTO convertToDTO(AuthenticatedUser principal);
+    
     User updateUser(Long userId, UserDTO userDTO);
     
     void enableUser(Long userId);
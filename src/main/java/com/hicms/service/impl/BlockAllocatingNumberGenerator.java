@@ -0,0 +1,127 @@
+package com.hicms.service.impl;
+
+import com.hicms.service.BusinessNumberGenerator;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * BusinessNumberGenerator that hands out monotonic numbers per prefix and day
+ * (PREFIX-yyyyMMdd-NNNNNN) from blocks reserved in the id_sequences table.
+ * A block is reserved under a row lock in its own transaction, so two nodes
+ * never receive overlapping ranges; numbers inside a block are handed out
+ * from memory with a CAS and no database round trip.
+ *
+ * Reservations run on a small pool of their own. Callers usually hold a connection
+ * from the main pool for their transaction, so with every main connection held by a
+ * caller waiting for the next block a reservation there could never get one.
+ */
+@Service
+public class BlockAllocatingNumberGenerator implements BusinessNumberGenerator, AutoCloseable {
+    
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+    private static final int SEQUENCE_DIGITS = 6;
+    
+    private final HikariDataSource sequencePool;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate allocationTransaction;
+    private final long blockSize;
+    
+    private final ConcurrentHashMap<String, Block> currentBlocks = new ConcurrentHashMap<>();
+    
+    // Locks rather than synchronized: the reservation waits on the database, and a virtual
+    // thread blocked inside a synchronized block would pin its carrier thread
+    private final ConcurrentHashMap<String, ReentrantLock> reservationLocks = new ConcurrentHashMap<>();
+    
+    public BlockAllocatingNumberGenerator(DataSourceProperties dataSourceProperties,
+                                          ObjectProvider<MeterRegistry> meterRegistry,
+                                          @Value("${app.id-generator.block-size:100}") long blockSize,
+                                          @Value("${app.id-generator.pool-size:2}") int poolSize) {
+        this.blockSize = blockSize;
+        this.sequencePool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        sequencePool.setPoolName("id-sequences");
+        sequencePool.setMaximumPoolSize(poolSize);
+        meterRegistry.ifAvailable(sequencePool::setMetricRegistry);
+        this.jdbcTemplate = new JdbcTemplate(sequencePool);
+        // Commits on its own connection: a caller rollback must not hand the same block out twice
+        this.allocationTransaction = new TransactionTemplate(new DataSourceTransactionManager(sequencePool));
+    }
+    
+    @Override
+    public String nextNumber(String prefix) {
+        String sequenceName = prefix + "-" + LocalDate.now().format(DAY_FORMAT);
+        
+        while (true) {
+            Block block = currentBlocks.get(prefix);
+            if (block != null && block.sequenceName.equals(sequenceName)) {
+                long value = block.next.getAndIncrement();
+                if (value < block.limit) {
+                    return format(sequenceName, value);
+                }
+            }
+            
+            // Block exhausted or the day rolled over; only one thread per prefix reserves the next one
+            ReentrantLock reservationLock = reservationLocks.computeIfAbsent(prefix, key -> new ReentrantLock());
+            reservationLock.lock();
+            try {
+                Block latest = currentBlocks.get(prefix);
+                if (latest == block) {
+                    currentBlocks.put(prefix, reserveBlock(sequenceName));
+                }
+            } finally {
+                reservationLock.unlock();
+            }
+        }
+    }
+    
+    private Block reserveBlock(String sequenceName) {
+        return allocationTransaction.execute(status -> {
+            // Creates the sequence row on first use; a no-op when it already exists
+            jdbcTemplate.update("INSERT INTO id_sequences (sequence_name, next_value) VALUES (?, 1) "
+                    + "ON DUPLICATE KEY UPDATE sequence_name = sequence_name", sequenceName);
+            Long start = jdbcTemplate.queryForObject(
+                    "SELECT next_value FROM id_sequences WHERE sequence_name = ? FOR UPDATE", Long.class, sequenceName);
+            jdbcTemplate.update("UPDATE id_sequences SET next_value = ? WHERE sequence_name = ?",
+                    start + blockSize, sequenceName);
+            return new Block(sequenceName, start, start + blockSize);
+        });
+    }
+    
+    @Override
+    public void close() {
+        sequencePool.close();
+    }
+    
+    private String format(String sequenceName, long value) {
+        String digits = Long.toString(value);
+        StringBuilder number = new StringBuilder(sequenceName.length() + 1 + Math.max(digits.length(), SEQUENCE_DIGITS));
+        number.append(sequenceName).append('-');
+        for (int i = digits.length(); i < SEQUENCE_DIGITS; i++) {
+            number.append('0');
+        }
+        return number.append(digits).toString();
+    }
+    
+    private static final class Block {
+        private final String sequenceName;
+        private final AtomicLong next;
+        private final long limit;
+        
+        private Block(String sequenceName, long start, long limit) {
+            this.sequenceName = sequenceName;
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+        }
+    }
+}
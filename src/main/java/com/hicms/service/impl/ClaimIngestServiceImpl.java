@@ -0,0 +1,358 @@
+package com.hicms.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hicms.dto.ClaimDTO;
+import com.hicms.dto.ClaimIngestResultDTO;
+import com.hicms.entity.ClaimStatus;
+import com.hicms.entity.PolicyEnrollment;
+import com.hicms.metrics.ClaimTransitionMetrics;
+import com.hicms.repository.PolicyEnrollmentRepository;
+import com.hicms.service.ClaimIngestService;
+import com.hicms.service.ClaimService;
+import com.hicms.service.DashboardCountersChangedEvent;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of ClaimIngestService.
+ * Each chunk is validated against enrollments and coverage with one query and
+ * inserted with one JDBC batch in its own transaction. Claim keys come back
+ * from the batch itself (RETURN_GENERATED_KEYS), so the IDENTITY column shared
+ * with the form path does not force row-by-row inserts.
+ */
+@Service
+@Slf4j
+public class ClaimIngestServiceImpl implements ClaimIngestService {
+    
+    private static final String INSERT_CLAIM_SQL =
+            "INSERT INTO claims (claim_number, policy_id, claimant_id, agent_id, claim_amount, claim_date, " +
+            "description, reason, claim_status, created_date, updated_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    
+    // Same rule as ClaimServiceImpl.submitClaimWithAgent
+    private static final List<PolicyEnrollment.EnrollmentStatus> ELIGIBLE_STATUSES =
+            List.of(PolicyEnrollment.EnrollmentStatus.ACTIVE);
+    
+    private static final List<String> REQUIRED_CSV_COLUMNS =
+            List.of("policyid", "claimantid", "claimamount", "description");
+    
+    private final PolicyEnrollmentRepository enrollmentRepository;
+    private final ClaimService claimService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ClaimTransitionMetrics transitionMetrics;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    
+    public ClaimIngestServiceImpl(PolicyEnrollmentRepository enrollmentRepository,
+                                  ClaimService claimService,
+                                  JdbcTemplate jdbcTemplate,
+                                  ObjectMapper objectMapper,
+                                  Validator validator,
+                                  ClaimTransitionMetrics transitionMetrics,
+                                  ApplicationEventPublisher eventPublisher,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${app.claims.ingest.chunk-size:500}") int chunkSize) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.claimService = claimService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transitionMetrics = transitionMetrics;
+        this.eventPublisher = eventPublisher;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+    
+    @Override
+    public void ingestClaims(Reader reader, Format format, Long agentId,
+                             Consumer<List<ClaimIngestResultDTO>> results) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        Map<String, Integer> csvColumns = null;
+        List<IngestLine> chunk = new ArrayList<>(chunkSize);
+        long lineNumber = 0;
+        String line;
+        
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == Format.CSV && csvColumns == null) {
+                csvColumns = parseCsvHeader(line);
+                continue;
+            }
+            
+            chunk.add(parseLine(lineNumber, line, format, csvColumns));
+            if (chunk.size() >= chunkSize) {
+                results.accept(processChunk(chunk, agentId));
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+        
+        if (!chunk.isEmpty()) {
+            results.accept(processChunk(chunk, agentId));
+        }
+    }
+    
+    private List<ClaimIngestResultDTO> processChunk(List<IngestLine> chunk, Long agentId) {
+        List<IngestLine> parsed = chunk.stream().filter(line -> line.error == null).toList();
+        if (!parsed.isEmpty()) {
+            try {
+                chunkTransaction.executeWithoutResult(status -> submitChunk(parsed, agentId));
+                int submitted = (int) parsed.stream().filter(line -> line.claimId != null).count();
+                transitionMetrics.recordSubmitted(submitted);
+                if (submitted > 0) {
+                    // The chunk has committed, so live dashboards reload on their next tick
+                    eventPublisher.publishEvent(new DashboardCountersChangedEvent());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Bulk claim chunk starting at line {} rolled back: {}", parsed.get(0).lineNumber, e.getMessage());
+                for (IngestLine line : parsed) {
+                    if (line.error == null) {
+                        line.error = "Failed to submit claim: " + e.getMessage();
+                    }
+                    line.claimId = null;
+                    line.claimNumber = null;
+                }
+            }
+        }
+        return chunk.stream().map(IngestLine::toResult).toList();
+    }
+    
+    private void submitChunk(List<IngestLine> lines, Long agentId) {
+        Set<Long> claimantIds = new HashSet<>();
+        Set<Long> policyIds = new HashSet<>();
+        for (IngestLine line : lines) {
+            claimantIds.add(line.claim.getClaimantId());
+            policyIds.add(line.claim.getPolicyId());
+        }
+        
+        // One query covers eligibility and coverage for every (claimant, policy) pair in the chunk
+        Map<EnrollmentKey, BigDecimal> coverage = new HashMap<>();
+        for (Object[] row : enrollmentRepository.findEnrolledCoverage(claimantIds, policyIds, ELIGIBLE_STATUSES)) {
+            coverage.put(new EnrollmentKey((Long) row[0], (Long) row[1]), (BigDecimal) row[2]);
+        }
+        
+        List<IngestLine> accepted = new ArrayList<>(lines.size());
+        for (IngestLine line : lines) {
+            BigDecimal coverageAmount = coverage.get(
+                    new EnrollmentKey(line.claim.getClaimantId(), line.claim.getPolicyId()));
+            if (coverageAmount == null) {
+                line.error = "User is not enrolled in this policy";
+            } else if (line.claim.getClaimAmount().compareTo(coverageAmount) > 0) {
+                line.error = "Claim amount exceeds coverage amount";
+            } else {
+                line.claimNumber = claimService.generateClaimNumber();
+                accepted.add(line);
+            }
+        }
+        
+        if (!accepted.isEmpty()) {
+            insertClaims(accepted, agentId);
+        }
+    }
+    
+    private void insertClaims(List<IngestLine> lines, Long agentId) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_CLAIM_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (IngestLine line : lines) {
+                    ClaimDTO claim = line.claim;
+                    ps.setString(1, line.claimNumber);
+                    ps.setLong(2, claim.getPolicyId());
+                    ps.setLong(3, claim.getClaimantId());
+                    if (agentId != null) {
+                        ps.setLong(4, agentId);
+                    } else {
+                        ps.setNull(4, Types.BIGINT);
+                    }
+                    ps.setBigDecimal(5, claim.getClaimAmount());
+                    ps.setDate(6, Date.valueOf(claim.getClaimDate() != null ? claim.getClaimDate() : LocalDate.now()));
+                    ps.setString(7, claim.getDescription());
+                    ps.setString(8, claim.getReason());
+                    ps.setString(9, ClaimStatus.PENDING.name());
+                    ps.setTimestamp(10, now);
+                    ps.setTimestamp(11, now);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    for (IngestLine line : lines) {
+                        if (!keys.next()) {
+                            throw new SQLException("No generated key returned for line " + line.lineNumber);
+                        }
+                        line.claimId = keys.getLong(1);
+                    }
+                }
+            }
+            return null;
+        });
+    }
+    
+    private IngestLine parseLine(long lineNumber, String line, Format format, Map<String, Integer> csvColumns) {
+        IngestLine ingestLine = new IngestLine(lineNumber);
+        try {
+            ingestLine.claim = format == Format.CSV
+                    ? parseCsvLine(line, csvColumns)
+                    : objectMapper.readValue(line, ClaimDTO.class);
+            ingestLine.error = validate(ingestLine.claim);
+        } catch (JsonProcessingException e) {
+            ingestLine.error = "Malformed JSON: " + e.getOriginalMessage();
+        } catch (RuntimeException e) {
+            ingestLine.error = e.getMessage();
+        }
+        return ingestLine;
+    }
+    
+    private String validate(ClaimDTO claim) {
+        List<String> errors = validator.validate(claim).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.toCollection(ArrayList::new));
+        if (claim.getClaimantId() == null) {
+            errors.add("Claimant ID is required");
+        }
+        return errors.isEmpty() ? null : String.join("; ", errors);
+    }
+    
+    private Map<String, Integer> parseCsvHeader(String line) {
+        List<String> names = splitCsv(line.startsWith("\uFEFF") ? line.substring(1) : line);
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(normalizeColumn(names.get(i)), i);
+        }
+        for (String required : REQUIRED_CSV_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new RuntimeException("CSV header must include columns " + REQUIRED_CSV_COLUMNS);
+            }
+        }
+        return columns;
+    }
+    
+    private ClaimDTO parseCsvLine(String line, Map<String, Integer> columns) {
+        List<String> fields = splitCsv(line);
+        return ClaimDTO.builder()
+                .policyId(csvValue(fields, columns, "policyid", Long::valueOf))
+                .claimantId(csvValue(fields, columns, "claimantid", Long::valueOf))
+                .claimAmount(csvValue(fields, columns, "claimamount", BigDecimal::new))
+                .claimDate(csvValue(fields, columns, "claimdate", LocalDate::parse))
+                .description(csvValue(fields, columns, "description", Function.identity()))
+                .reason(csvValue(fields, columns, "reason", Function.identity()))
+                .build();
+    }
+    
+    private <T> T csvValue(List<String> fields, Map<String, Integer> columns, String column,
+                           Function<String, T> converter) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size() || fields.get(index).isBlank()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        try {
+            return converter.apply(value);
+        } catch (RuntimeException e) {
+            throw new RuntimeException("Invalid value for " + column + ": " + value);
+        }
+    }
+    
+    private static String normalizeColumn(String name) {
+        return name.trim().replace("_", "").toLowerCase(Locale.ROOT);
+    }
+    
+    /**
+     * Splits one CSV record; fields may be double-quoted, with "" as an escaped quote
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new RuntimeException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+    
+    private record EnrollmentKey(Long userId, Long policyId) {
+    }
+    
+    /**
+     * One input line and its outcome
+     */
+    private static final class IngestLine {
+        private final long lineNumber;
+        private ClaimDTO claim;
+        private String error;
+        private Long claimId;
+        private String claimNumber;
+        
+        private IngestLine(long lineNumber) {
+            this.lineNumber = lineNumber;
+        }
+        
+        private ClaimIngestResultDTO toResult() {
+            return ClaimIngestResultDTO.builder()
+                    .lineNumber(lineNumber)
+                    .success(error == null)
+                    .claimId(claimId)
+                    .claimNumber(claimNumber)
+                    .errorMessage(error)
+                    .build();
+        }
+    }
+}
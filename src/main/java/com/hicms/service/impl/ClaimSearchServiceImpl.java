@@ -0,0 +1,101 @@
+package com.hicms.service.impl;
+
+import com.hicms.dto.ClaimDTO;
+import com.hicms.dto.ClaimSearchCriteriaDTO;
+import com.hicms.dto.ClaimSearchPageDTO;
+import com.hicms.entity.ClaimStatus;
+import com.hicms.repository.ClaimRepository;
+import com.hicms.service.ClaimSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of ClaimSearchService.
+ * A search must set a filter that an index can narrow to a small range: policy, claimant,
+ * claimant name, agent, adjuster, or a claim date range bounded on both sides and no more
+ * than app.claims.search.max-date-range-days long. A single status sorted by created date
+ * is also accepted, as idx_claim_status_created_date returns it in page order. Every status,
+ * several statuses, other sort orders on a status and open-ended or longer date ranges
+ * would sort most of the table, so they, like the amount and text filters (the text filter
+ * is a LIKE '%...%'), only narrow one of the filters above.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ClaimSearchServiceImpl implements ClaimSearchService {
+    
+    private final ClaimRepository claimRepository;
+    
+    @Value("${app.claims.search.default-size:20}")
+    private int defaultPageSize;
+    
+    @Value("${app.claims.search.max-size:100}")
+    private int maxPageSize;
+    
+    // Deep offsets make the database walk and discard every skipped row
+    @Value("${app.claims.search.max-offset:10000}")
+    private int maxOffset;
+    
+    @Value("${app.claims.search.max-date-range-days:92}")
+    private long maxDateRangeDays;
+    
+    @Override
+    public ClaimSearchPageDTO searchClaims(ClaimSearchCriteriaDTO criteria) {
+        requireIndexedFilter(criteria);
+        if (criteria.getClaimDateFrom() != null && criteria.getClaimDateTo() != null
+                && criteria.getClaimDateFrom().isAfter(criteria.getClaimDateTo())) {
+            throw new IllegalArgumentException("Claim date from must not be after claim date to");
+        }
+        if (criteria.getMinAmount() != null && criteria.getMaxAmount() != null
+                && criteria.getMinAmount().compareTo(criteria.getMaxAmount()) > 0) {
+            throw new IllegalArgumentException("Minimum amount must not be above maximum amount");
+        }
+        
+        int pageSize = criteria.getSize() == null || criteria.getSize() <= 0
+                ? defaultPageSize : Math.min(criteria.getSize(), maxPageSize);
+        int page = Math.max(criteria.getPage(), 0);
+        long offset = (long) page * pageSize;
+        if (offset > maxOffset) {
+            throw new IllegalArgumentException("Page is too deep, narrow the filters instead");
+        }
+        
+        // Fetch one extra row to find out whether another page exists
+        List<ClaimDTO> rows = new ArrayList<>(claimRepository.searchClaims(criteria, (int) offset, pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows.remove(rows.size() - 1);
+        }
+        
+        return ClaimSearchPageDTO.builder()
+                .claims(rows)
+                .page(page)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .hasPrevious(page > 0)
+                .build();
+    }
+    
+    private void requireIndexedFilter(ClaimSearchCriteriaDTO criteria) {
+        boolean anchored = criteria.getPolicyId() != null
+                || criteria.getClaimantId() != null
+                || (criteria.getClaimantName() != null && !criteria.getClaimantName().isBlank())
+                || criteria.getAgentId() != null
+                || criteria.getAdjusterId() != null;
+        boolean boundedDates = criteria.getClaimDateFrom() != null && criteria.getClaimDateTo() != null
+                && ChronoUnit.DAYS.between(criteria.getClaimDateFrom(), criteria.getClaimDateTo()) < maxDateRangeDays;
+        Set<ClaimStatus> statuses = criteria.getStatuses();
+        boolean singleStatusInPageOrder = statuses != null && statuses.size() == 1
+                && (criteria.getSort() == null || criteria.getSort() == ClaimSearchCriteriaDTO.SortField.CREATED_DATE);
+        if (!anchored && !boundedDates && !singleStatusInPageOrder) {
+            throw new IllegalArgumentException("Set a policy, claimant, agent or adjuster filter, a claim date range "
+                    + "with both ends and at most " + maxDateRangeDays + " days long, or a single status sorted by "
+                    + "created date; other filters can only narrow one of those");
+        }
+    }
+}
@@ -1,21 +1,34 @@
 package com.hicms.service.impl;
 
 import com.hicms.dto.ClaimDTO;
+import com.hicms.dto.ClaimPageDTO;
 import com.hicms.dto.ClaimReviewDTO;
 import com.hicms.entity.*;
+import com.hicms.metrics.ClaimTransitionMetrics;
 import com.hicms.repository.ClaimRepository;
 import com.hicms.repository.PolicyRepository;
-import com.hicms.repository.PolicyEnrollmentRepository;
+import com.hicms.service.BusinessNumberGenerator;
 import com.hicms.service.ClaimService;
+import com.hicms.service.DashboardCountersChangedEvent;
+import com.hicms.service.EnrollmentEligibilityIndex;
+import com.hicms.service.PolicyCatalog;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -28,7 +41,17 @@ public class ClaimServiceImpl implements ClaimService {
     
     private final ClaimRepository claimRepository;
     private final PolicyRepository policyRepository;
-    private final PolicyEnrollmentRepository enrollmentRepository;
+    private final PolicyCatalog policyCatalog;
+    private final EnrollmentEligibilityIndex eligibilityIndex;
+    private final BusinessNumberGenerator numberGenerator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ClaimTransitionMetrics transitionMetrics;
+    
+    @Value("${app.claims.page.default-size:20}")
+    private int defaultPageSize;
+    
+    @Value("${app.claims.page.max-size:100}")
+    private int maxPageSize;
     
     @Override
     public Claim submitClaim(ClaimDTO claimDTO, User claimant) {
@@ -37,29 +60,23 @@ public class ClaimServiceImpl implements ClaimService {
     
     @Override
     public Claim submitClaimWithAgent(ClaimDTO claimDTO, User claimant, User agent) {
-        Policy policy = policyRepository.findById(claimDTO.getPolicyId())
+        BigDecimal coverageAmount = policyCatalog.findCoverageAmount(claimDTO.getPolicyId())
                 .orElseThrow(() -> new RuntimeException("Policy not found"));
         
         // Verify user is enrolled in the policy
-        boolean isEnrolled = enrollmentRepository
-                .existsByPolicyholderUserIdAndPolicyPolicyIdAndEnrollmentStatusIn(
-                        claimant.getUserId(),
-                        claimDTO.getPolicyId(),
-                        Arrays.asList(PolicyEnrollment.EnrollmentStatus.ACTIVE)
-                );
-        
-        if (!isEnrolled) {
+        if (!eligibilityIndex.hasActiveEnrollment(claimant.getUserId(), claimDTO.getPolicyId())) {
             throw new RuntimeException("User is not enrolled in this policy");
         }
         
         // Validate claim amount against coverage
-        if (claimDTO.getClaimAmount().compareTo(policy.getCoverageAmount()) > 0) {
+        if (claimDTO.getClaimAmount().compareTo(coverageAmount) > 0) {
             throw new RuntimeException("Claim amount exceeds coverage amount");
         }
         
+        // Only the foreign key is needed, the policy row itself is not loaded
         Claim claim = Claim.builder()
                 .claimNumber(generateClaimNumber())
-                .policy(policy)
+                .policy(policyRepository.getReferenceById(claimDTO.getPolicyId()))
                 .claimant(claimant)
                 .agent(agent)
                 .claimAmount(claimDTO.getClaimAmount())
@@ -69,7 +86,10 @@ public class ClaimServiceImpl implements ClaimService {
                 .claimStatus(ClaimStatus.PENDING)
                 .build();
         
-        return claimRepository.save(claim);
+        Claim saved = claimRepository.save(claim);
+        transitionMetrics.recordSubmitted(1);
+        eventPublisher.publishEvent(new DashboardCountersChangedEvent());
+        return saved;
     }
     
     @Override
@@ -133,35 +153,135 @@ public class ClaimServiceImpl implements ClaimService {
     }
     
     @Override
-    public Claim assignAdjuster(Long claimId, User adjuster) {
-        Claim claim = claimRepository.findById(claimId)
-                .orElseThrow(() -> new RuntimeException("Claim not found"));
-        
-        claim.setAdjuster(adjuster);
-        claim.setClaimStatus(ClaimStatus.UNDER_REVIEW);
-        
-        return claimRepository.save(claim);
+    @Transactional(readOnly = true)
+    public List<ClaimDTO> findClaimDTOsByClaimant(Long claimantId) {
+        return claimRepository.findClaimDTOsByClaimant(claimantId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClaimDTO> findClaimDTOsByAgent(Long agentId) {
+        return claimRepository.findClaimDTOsByAgent(agentId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClaimDTO> findClaimDTOsByAdjuster(Long adjusterId) {
+        return claimRepository.findClaimDTOsByAdjuster(adjusterId);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClaimDTO> findPendingClaimDTOs() {
+        return claimRepository.findPendingClaimDTOs();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClaimDTO> findUnassignedClaimDTOs() {
+        return claimRepository.findUnassignedClaimDTOs();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<ClaimDTO> findRecentPendingClaimDTOs(int limit) {
+        return claimRepository.findRecentPendingClaimDTOs(PageRequest.of(0, limit));
     }
     
     @Override
-    public Claim reviewClaim(Long claimId, ClaimReviewDTO reviewDTO, User adjuster) {
-        Claim claim = claimRepository.findById(claimId)
-                .orElseThrow(() -> new RuntimeException("Claim not found"));
+    @Transactional(readOnly = true)
+    public ClaimPageDTO findClaimPage(Role role, Long userId, ClaimStatus status,
+                                      String afterCursor, String beforeCursor, Integer size) {
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        
+        // Restrict the listing to the rows the role is allowed to see
+        Long claimantId = null;
+        Long agentId = null;
+        Long adjusterId = null;
+        switch (role) {
+            case ADMIN:
+                break;
+            case AGENT:
+                agentId = userId;
+                break;
+            case CLAIM_ADJUSTER:
+                adjusterId = userId;
+                break;
+            default:
+                claimantId = userId;
+        }
+        
+        // Fetch one extra row to find out whether another page exists
+        Pageable limit = PageRequest.of(0, pageSize + 1);
+        List<ClaimDTO> rows;
+        boolean hasNext;
+        boolean hasPrevious;
         
-        claim.setAdjuster(adjuster);
-        claim.setClaimStatus(reviewDTO.getClaimStatus());
-        claim.setApprovedAmount(reviewDTO.getApprovedAmount());
-        claim.setRemarks(reviewDTO.getRemarks());
+        if (beforeCursor != null && !beforeCursor.isBlank()) {
+            Object[] cursor = parseCursor(beforeCursor);
+            rows = new ArrayList<>(claimRepository.findClaimsBeforeCursor(status, claimantId, agentId, adjusterId,
+                    (LocalDateTime) cursor[0], (Long) cursor[1], limit));
+            hasPrevious = rows.size() > pageSize;
+            if (hasPrevious) {
+                rows = rows.subList(0, pageSize);
+            }
+            Collections.reverse(rows);
+            hasNext = true;
+        } else if (afterCursor != null && !afterCursor.isBlank()) {
+            Object[] cursor = parseCursor(afterCursor);
+            rows = claimRepository.findClaimsAfterCursor(status, claimantId, agentId, adjusterId,
+                    (LocalDateTime) cursor[0], (Long) cursor[1], limit);
+            hasNext = rows.size() > pageSize;
+            hasPrevious = true;
+        } else {
+            rows = claimRepository.findClaimsFirstPage(status, claimantId, agentId, adjusterId, limit);
+            hasNext = rows.size() > pageSize;
+            hasPrevious = false;
+        }
+        
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+        }
         
-        return claimRepository.save(claim);
+        return ClaimPageDTO.builder()
+                .claims(rows)
+                .size(pageSize)
+                .hasNext(hasNext && !rows.isEmpty())
+                .hasPrevious(hasPrevious && !rows.isEmpty())
+                .nextCursor(rows.isEmpty() ? null : formatCursor(rows.get(rows.size() - 1)))
+                .previousCursor(rows.isEmpty() ? null : formatCursor(rows.get(0)))
+                .build();
+    }
+    
+    @Override
+    public boolean assignAdjuster(Long claimId, User adjuster) {
+        return transitioned(ClaimStatus.UNDER_REVIEW, claimRepository.assignAdjuster(claimId, adjuster,
+                ClaimStatus.sourcesOf(ClaimStatus.UNDER_REVIEW), ClaimStatus.UNDER_REVIEW, LocalDateTime.now()) > 0);
+    }
+    
+    @Override
+    public boolean reviewClaim(Long claimId, ClaimReviewDTO reviewDTO, User adjuster) {
+        ClaimStatus decision = reviewDTO.getClaimStatus();
+        if (decision != ClaimStatus.APPROVED && decision != ClaimStatus.REJECTED) {
+            throw new RuntimeException("A review must approve or reject the claim");
+        }
+        return transitioned(decision, claimRepository.reviewClaim(claimId, adjuster, ClaimStatus.sourcesOf(decision), decision,
+                reviewDTO.getApprovedAmount(), reviewDTO.getRemarks(), LocalDateTime.now()) > 0);
     }
     
     @Override
-    public Claim updateClaimStatus(Long claimId, ClaimStatus status) {
-        Claim claim = claimRepository.findById(claimId)
-                .orElseThrow(() -> new RuntimeException("Claim not found"));
-        claim.setClaimStatus(status);
-        return claimRepository.save(claim);
+    public boolean updateClaimStatus(Long claimId, ClaimStatus status) {
+        Set<ClaimStatus> sources = ClaimStatus.sourcesOf(status);
+        return transitioned(status, !sources.isEmpty() && claimRepository.transitionStatus(claimId, sources, status) > 0);
+    }
+    
+    // Live dashboards reload their counters once the transition commits
+    private boolean transitioned(ClaimStatus target, boolean transitioned) {
+        transitionMetrics.recordTransition(target, transitioned);
+        if (transitioned) {
+            eventPublisher.publishEvent(new DashboardCountersChangedEvent());
+        }
+        return transitioned;
     }
     
     @Override
@@ -200,10 +320,7 @@ public class ClaimServiceImpl implements ClaimService {
     
     @Override
     public String generateClaimNumber() {
-        String prefix = "CLM";
-        String datePart = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String uniquePart = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
-        return prefix + "-" + datePart + "-" + uniquePart;
+        return numberGenerator.nextNumber("CLM");
     }
     
     @Override
@@ -213,19 +330,29 @@ public class ClaimServiceImpl implements ClaimService {
     }
     
     @Override
-    public Claim updateClaim(Long claimId, ClaimDTO claimDTO) {
-        Claim claim = claimRepository.findById(claimId)
-                .orElseThrow(() -> new RuntimeException("Claim not found"));
-        
-        // Only allow updates to pending claims
-        if (claim.getClaimStatus() != ClaimStatus.PENDING) {
-            throw new RuntimeException("Only pending claims can be updated");
+    public boolean updateClaim(Long claimId, ClaimDTO claimDTO) {
+        // Only pending claims can be updated
+        return claimRepository.updateClaimDetails(claimId, ClaimStatus.PENDING,
+                claimDTO.getClaimAmount(), claimDTO.getDescription(), claimDTO.getReason()) > 0;
+    }
+    
+    private String formatCursor(ClaimDTO claim) {
+        // createdDate is already rendered as ISO_LOCAL_DATE_TIME by the projection
+        return claim.getCreatedDate() + "_" + claim.getClaimId();
+    }
+    
+    private Object[] parseCursor(String cursor) {
+        int separator = cursor.lastIndexOf('_');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Invalid page cursor");
+        }
+        try {
+            LocalDateTime createdDate = LocalDateTime.parse(cursor.substring(0, separator),
+                    DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+            Long claimId = Long.valueOf(cursor.substring(separator + 1));
+            return new Object[]{createdDate, claimId};
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid page cursor");
         }
-        
-        claim.setClaimAmount(claimDTO.getClaimAmount());
-        claim.setDescription(claimDTO.getDescription());
-        claim.setReason(claimDTO.getReason());
-        
-        return claimRepository.save(claim);
     }
 }
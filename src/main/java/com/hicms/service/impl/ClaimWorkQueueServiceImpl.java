@@ -0,0 +1,98 @@
+package com.hicms.service.impl;
+
+import com.hicms.dto.ClaimDTO;
+import com.hicms.repository.ClaimRepository;
+import com.hicms.service.ClaimDistributionPolicy;
+import com.hicms.service.ClaimWorkQueueService;
+import com.hicms.service.DashboardCountersChangedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Implementation of ClaimWorkQueueService.
+ * Candidates are locked with FOR UPDATE SKIP LOCKED, so concurrent requests
+ * from different adjusters never wait on or receive the same rows, and the
+ * lease itself is a conditional UPDATE that only matches claims still free.
+ * Leasing and releasing change the unassigned claim count, so each publishes
+ * a DashboardCountersChangedEvent that live dashboards pick up on commit.
+ */
+@Service
+@Slf4j
+@Transactional
+public class ClaimWorkQueueServiceImpl implements ClaimWorkQueueService {
+    
+    private final ClaimRepository claimRepository;
+    private final ClaimDistributionPolicy distributionPolicy;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration leaseDuration;
+    private final int maxLeaseCount;
+    
+    public ClaimWorkQueueServiceImpl(ClaimRepository claimRepository,
+                                     List<ClaimDistributionPolicy> policies,
+                                     ApplicationEventPublisher eventPublisher,
+                                     @Value("${app.claims.queue.distribution:oldest-first}") String policyName,
+                                     @Value("${app.claims.queue.lease-minutes:30}") long leaseMinutes,
+                                     @Value("${app.claims.queue.max-lease-count:20}") int maxLeaseCount) {
+        this.claimRepository = claimRepository;
+        this.distributionPolicy = policies.stream()
+                .filter(policy -> policy.getName().equals(policyName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown claim distribution policy: " + policyName));
+        this.eventPublisher = eventPublisher;
+        this.leaseDuration = Duration.ofMinutes(leaseMinutes);
+        this.maxLeaseCount = maxLeaseCount;
+    }
+    
+    @Override
+    public List<ClaimDTO> leaseNextClaims(Long adjusterId, int count) {
+        int allowance = distributionPolicy.allowance(adjusterId, Math.min(Math.max(count, 0), maxLeaseCount));
+        if (allowance == 0) {
+            return Collections.emptyList();
+        }
+        
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> selected = distributionPolicy.select(adjusterId, allowance,
+                window -> claimRepository.lockAvailableClaimIds(now, window));
+        if (selected.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        countersChanged(claimRepository.leaseClaims(selected, adjusterId, now.plus(leaseDuration), now));
+        return claimRepository.findClaimDTOsByIds(selected);
+    }
+    
+    @Override
+    public boolean releaseLease(Long claimId, Long adjusterId) {
+        return countersChanged(claimRepository.releaseLease(claimId, adjusterId)) > 0;
+    }
+    
+    @Override
+    @Scheduled(fixedDelayString = "${app.claims.queue.expiry-sweep-ms:60000}")
+    public int releaseExpiredLeases() {
+        int released = countersChanged(claimRepository.releaseExpiredLeases(LocalDateTime.now()));
+        if (released > 0) {
+            log.info("Returned {} claims with expired leases to the work queue", released);
+        }
+        return released;
+    }
+    
+    @Override
+    public String getDistributionPolicyName() {
+        return distributionPolicy.getName();
+    }
+    
+    private int countersChanged(int updated) {
+        if (updated > 0) {
+            eventPublisher.publishEvent(new DashboardCountersChangedEvent());
+        }
+        return updated;
+    }
+}
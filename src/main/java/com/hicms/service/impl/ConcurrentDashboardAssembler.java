@@ -0,0 +1,98 @@
+package com.hicms.service.impl;
+
+import com.hicms.service.DashboardAssembler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.security.task.DelegatingSecurityContextAsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * DashboardAssembler that starts every section at once on the bounded dashboard
+ * executor, each in its own read-only transaction so lazy associations can still
+ * be read while the section builds its DTOs. All sections share one deadline: a
+ * section that has not finished by then is abandoned and replaced by its
+ * placeholder, so the page takes as long as its slowest section up to the budget.
+ * The section transactions time out with the budget (rounded up to whole seconds),
+ * so an abandoned section's statements are cancelled by the driver rather than
+ * holding a connection, and a section the full executor rejects shows its
+ * placeholder straight away.
+ */
+@Service
+@Slf4j
+public class ConcurrentDashboardAssembler implements DashboardAssembler {
+    
+    private final AsyncTaskExecutor dashboardExecutor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final long budgetMillis;
+    
+    public ConcurrentDashboardAssembler(AsyncTaskExecutor dashboardExecutor,
+                                        PlatformTransactionManager transactionManager,
+                                        @Value("${app.dashboard.sections.budget-ms:2000}") long budgetMillis) {
+        // Sections run as the requesting user, which the replica routing needs for read-your-writes
+        this.dashboardExecutor = new DelegatingSecurityContextAsyncTaskExecutor(dashboardExecutor);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.readOnlyTransaction.setTimeout((int) Math.max(1, (budgetMillis + 999) / 1000));
+        this.budgetMillis = budgetMillis;
+    }
+    
+    @Override
+    public Result assemble(List<Section> sections) {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        
+        List<CompletableFuture<Map<String, Object>>> futures = new ArrayList<>(sections.size());
+        for (Section section : sections) {
+            try {
+                futures.add(CompletableFuture.supplyAsync(() -> {
+                    long sectionStart = System.nanoTime();
+                    Map<String, Object> attributes = readOnlyTransaction.execute(status -> section.loader().get());
+                    log.debug("Dashboard section {} loaded in {} ms", section.name(),
+                            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sectionStart));
+                    return attributes;
+                }, dashboardExecutor));
+            } catch (RejectedExecutionException e) {
+                futures.add(CompletableFuture.failedFuture(e));
+            }
+        }
+        
+        Map<String, Object> attributes = new HashMap<>();
+        List<String> unavailable = new ArrayList<>();
+        for (int i = 0; i < sections.size(); i++) {
+            Section section = sections.get(i);
+            CompletableFuture<Map<String, Object>> future = futures.get(i);
+            try {
+                attributes.putAll(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                future.cancel(true);
+                log.warn("Dashboard section {} exceeded the {} ms budget", section.name(), budgetMillis);
+                attributes.putAll(section.placeholder());
+                unavailable.add(section.name());
+            } catch (ExecutionException e) {
+                log.warn("Dashboard section {} failed: {}", section.name(), e.getCause().getMessage());
+                attributes.putAll(section.placeholder());
+                unavailable.add(section.name());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                attributes.putAll(section.placeholder());
+                unavailable.add(section.name());
+            }
+        }
+        
+        log.debug("Dashboard assembled {} sections in {} ms ({} unavailable)", sections.size(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), unavailable.size());
+        return new Result(attributes, unavailable);
+    }
+}
@@ -0,0 +1,76 @@
+package com.hicms.service.impl;
+
+import com.hicms.dto.DashboardStatisticsDTO;
+import com.hicms.entity.ClaimStatus;
+import com.hicms.entity.PolicyStatus;
+import com.hicms.entity.Role;
+import com.hicms.entity.TicketStatus;
+import com.hicms.repository.ClaimRepository;
+import com.hicms.repository.PolicyRepository;
+import com.hicms.repository.SupportTicketRepository;
+import com.hicms.repository.UserRepository;
+import com.hicms.service.DashboardStatisticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of DashboardStatisticsService.
+ * Counters come from one grouped COUNT query per table and are cached for a
+ * short TTL, so the admin dashboard cost does not grow with the table sizes.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class DashboardStatisticsServiceImpl implements DashboardStatisticsService {
+    
+    private final PolicyRepository policyRepository;
+    private final ClaimRepository claimRepository;
+    private final UserRepository userRepository;
+    private final SupportTicketRepository ticketRepository;
+    
+    @Value("${app.dashboard.statistics.ttl-seconds:30}")
+    private long ttlSeconds;
+    
+    private volatile DashboardStatisticsDTO cached;
+    
+    @Override
+    public DashboardStatisticsDTO getStatistics() {
+        DashboardStatisticsDTO current = cached;
+        if (current == null
+                || current.getGeneratedAt().plus(Duration.ofSeconds(ttlSeconds)).isBefore(LocalDateTime.now())) {
+            current = refreshStatistics();
+        }
+        return current;
+    }
+    
+    @Override
+    public DashboardStatisticsDTO refreshStatistics() {
+        DashboardStatisticsDTO statistics = DashboardStatisticsDTO.builder()
+                .policiesByStatus(toCountMap(PolicyStatus.class, policyRepository.countPoliciesGroupedByStatus()))
+                .claimsByStatus(toCountMap(ClaimStatus.class, claimRepository.countClaimsGroupedByStatus()))
+                .usersByRole(toCountMap(Role.class, userRepository.countUsersGroupedByRole()))
+                .ticketsByStatus(toCountMap(TicketStatus.class, ticketRepository.countTicketsGroupedByStatus()))
+                .generatedAt(LocalDateTime.now())
+                .build();
+        cached = statistics;
+        return statistics;
+    }
+    
+    private <E extends Enum<E>> Map<E, Long> toCountMap(Class<E> type, List<Object[]> rows) {
+        Map<E, Long> counts = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            counts.put(value, 0L);
+        }
+        for (Object[] row : rows) {
+            counts.put(type.cast(row[0]), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+}
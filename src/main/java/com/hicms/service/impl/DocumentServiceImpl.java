@@ -1,27 +1,44 @@
 package com.hicms.service.impl;
 
 import com.hicms.dto.DocumentDTO;
+import com.hicms.dto.DocumentUploadResultDTO;
 import com.hicms.entity.Claim;
 import com.hicms.entity.Document;
+import com.hicms.entity.DocumentBlob;
 import com.hicms.entity.DocumentType;
 import com.hicms.entity.User;
+import com.hicms.metrics.DocumentTransferMetrics;
 import com.hicms.repository.ClaimRepository;
 import com.hicms.repository.DocumentRepository;
 import com.hicms.service.DocumentService;
+import com.hicms.storage.DocumentBlobStore;
+import com.hicms.storage.FileChannelResource;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 /**
@@ -30,32 +47,56 @@ import java.util.stream.Collectors;
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Slf4j
 public class DocumentServiceImpl implements DocumentService {
     
     private final DocumentRepository documentRepository;
     private final ClaimRepository claimRepository;
+    private final DocumentBlobStore blobStore;
+    private final JdbcTemplate jdbcTemplate;
+    private final AsyncTaskExecutor documentIoExecutor;
+    private final DocumentTransferMetrics transferMetrics;
+    private final PlatformTransactionManager transactionManager;
     
     @Value("${app.document.storage.path}")
     private String documentStoragePath;
     
+    // "uuid" writes every upload to its own file, "content-addressed" deduplicates by SHA-256
+    @Value("${app.document.storage.mode:uuid}")
+    private String storageMode;
+    
     @Override
     public Document uploadDocument(Long claimId, MultipartFile file, User uploadedBy) {
         Claim claim = claimRepository.findById(claimId)
                 .orElseThrow(() -> new RuntimeException("Claim not found"));
         
+        long start = System.nanoTime();
         try {
             // Create storage directory if it doesn't exist
             Path storageDir = Paths.get(documentStoragePath).toAbsolutePath().normalize();
             Files.createDirectories(storageDir);
             
-            // Generate unique filename
             String originalFilename = file.getOriginalFilename();
             String extension = getFileExtension(originalFilename);
-            String newFilename = UUID.randomUUID().toString() + "." + extension;
+            String newFilename;
+            Path targetLocation;
+            String contentHash = null;
             
-            // Save file
-            Path targetLocation = storageDir.resolve(newFilename);
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            if (isContentAddressed()) {
+                // Hash while streaming; identical content resolves to the existing blob
+                DocumentBlob blob = blobStore.store(file.getInputStream(), storageDir);
+                contentHash = blob.getContentHash();
+                newFilename = contentHash + "." + extension;
+                targetLocation = Paths.get(blob.getBlobPath());
+            } else {
+                // Generate unique filename
+                newFilename = UUID.randomUUID().toString() + "." + extension;
+                
+                // Save file
+                targetLocation = storageDir.resolve(newFilename);
+                Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            }
+            transferMetrics.recordUpload(file.getSize(), start);
             
             // Determine document type
             DocumentType documentType = getDocumentType(extension);
@@ -69,6 +110,7 @@ public class DocumentServiceImpl implements DocumentService {
                     .documentType(documentType)
                     .fileSize(file.getSize())
                     .contentType(file.getContentType())
+                    .contentHash(contentHash)
                     .uploadedBy(uploadedBy)
                     .build();
             
@@ -79,6 +121,143 @@ public class DocumentServiceImpl implements DocumentService {
         }
     }
     
+    /**
+     * Runs without a surrounding transaction so no connection is held while the files are
+     * written; only the existence check and the final inserts open one.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<DocumentUploadResultDTO> uploadDocuments(Long claimId, List<MultipartFile> files, User uploadedBy) {
+        if (!claimRepository.existsById(claimId)) {
+            throw new RuntimeException("Claim not found");
+        }
+        
+        Path storageDir = Paths.get(documentStoragePath).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(storageDir);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to store file: " + e.getMessage());
+        }
+        
+        // Disk writes run concurrently; nothing on the worker threads touches the database
+        List<MultipartFile> nonEmpty = files.stream().filter(file -> !file.isEmpty()).toList();
+        List<CompletableFuture<WrittenFile>> writes = nonEmpty.stream()
+                .map(file -> CompletableFuture.supplyAsync(() -> writeFile(file, storageDir), documentIoExecutor))
+                .toList();
+        
+        List<DocumentUploadResultDTO> results = new ArrayList<>();
+        List<WrittenFile> written = new ArrayList<>();
+        for (int i = 0; i < writes.size(); i++) {
+            String originalFilename = nonEmpty.get(i).getOriginalFilename();
+            try {
+                written.add(writes.get(i).join());
+                results.add(DocumentUploadResultDTO.builder()
+                        .originalFileName(originalFilename)
+                        .success(true)
+                        .build());
+            } catch (CompletionException e) {
+                String reason = e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+                log.warn("Failed to store document {} for claim {}: {}", originalFilename, claimId, reason);
+                results.add(DocumentUploadResultDTO.builder()
+                        .originalFileName(originalFilename)
+                        .success(false)
+                        .errorMessage(reason)
+                        .build());
+            }
+        }
+        
+        if (written.isEmpty()) {
+            return results;
+        }
+        
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                try {
+                    insertDocuments(claimId, written, uploadedBy);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Don't leave orphaned per-upload files behind when the batch fails; blobs moved into
+            // place by the rolled back registration are removed by the blob store itself
+            for (WrittenFile file : written) {
+                discardWrittenFile(file);
+            }
+            String reason = e instanceof UncheckedIOException ? e.getCause().getMessage() : e.getMessage();
+            throw new RuntimeException("Failed to store documents: " + reason);
+        }
+        return results;
+    }
+    
+    /**
+     * Result of writing one upload to disk on a document I/O thread
+     */
+    private record WrittenFile(MultipartFile file, String extension, String documentName,
+                               Path path, DocumentBlobStore.StagedContent staged) {
+    }
+    
+    private WrittenFile writeFile(MultipartFile file, Path storageDir) {
+        String extension = getFileExtension(file.getOriginalFilename());
+        long start = System.nanoTime();
+        try {
+            if (isContentAddressed()) {
+                DocumentBlobStore.StagedContent staged = blobStore.stage(file.getInputStream(), storageDir);
+                transferMetrics.recordUpload(file.getSize(), start);
+                return new WrittenFile(file, extension, staged.contentHash() + "." + extension,
+                        staged.blobPath(), staged);
+            }
+            String newFilename = UUID.randomUUID().toString() + "." + extension;
+            Path targetLocation = storageDir.resolve(newFilename);
+            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            transferMetrics.recordUpload(file.getSize(), start);
+            return new WrittenFile(file, extension, newFilename, targetLocation, null);
+        } catch (IOException e) {
+            throw new CompletionException(new RuntimeException("Failed to store file: " + e.getMessage()));
+        }
+    }
+    
+    private void insertDocuments(Long claimId, List<WrittenFile> written, User uploadedBy) throws IOException {
+        // Content-addressed blobs are registered here, inside this transaction
+        for (WrittenFile file : written) {
+            if (file.staged() != null) {
+                blobStore.register(file.staged());
+            }
+        }
+        
+        // Document uses IDENTITY keys, which rules out Hibernate insert batching, so batch through JDBC
+        Timestamp uploadDate = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO documents (claim_id, document_name, original_file_name, document_path, document_type, " +
+                "file_size, content_type, content_hash, uploaded_by, upload_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                written,
+                written.size(),
+                (ps, file) -> {
+                    ps.setLong(1, claimId);
+                    ps.setString(2, file.documentName());
+                    ps.setString(3, file.file().getOriginalFilename());
+                    ps.setString(4, file.path().toString());
+                    ps.setString(5, getDocumentType(file.extension()).name());
+                    ps.setLong(6, file.file().getSize());
+                    ps.setString(7, file.file().getContentType());
+                    ps.setString(8, file.staged() != null ? file.staged().contentHash() : null);
+                    ps.setObject(9, uploadedBy != null ? uploadedBy.getUserId() : null);
+                    ps.setTimestamp(10, uploadDate);
+                });
+    }
+    
+    private void discardWrittenFile(WrittenFile file) {
+        try {
+            if (file.staged() != null) {
+                blobStore.discard(file.staged());
+            } else {
+                Files.deleteIfExists(file.path());
+            }
+        } catch (IOException e) {
+            log.warn("Failed to remove {}: {}", file.path(), e.getMessage());
+        }
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public Optional<Document> findById(Long documentId) {
@@ -97,9 +276,13 @@ public class DocumentServiceImpl implements DocumentService {
                 .orElseThrow(() -> new RuntimeException("Document not found"));
         
         try {
-            // Delete physical file
-            Path filePath = Paths.get(document.getDocumentPath());
-            Files.deleteIfExists(filePath);
+            // Delete physical file, or drop this document's reference to the shared blob
+            if (document.getContentHash() != null) {
+                blobStore.release(document.getContentHash());
+            } else {
+                Path filePath = Paths.get(document.getDocumentPath());
+                Files.deleteIfExists(filePath);
+            }
             
             // Delete database record
             documentRepository.delete(document);
@@ -149,14 +332,30 @@ public class DocumentServiceImpl implements DocumentService {
         Document document = documentRepository.findById(documentId)
                 .orElseThrow(() -> new RuntimeException("Document not found"));
         
+        long start = System.nanoTime();
         try {
             Path filePath = Paths.get(document.getDocumentPath());
-            return Files.readAllBytes(filePath);
+            byte[] content = Files.readAllBytes(filePath);
+            transferMetrics.recordDownload(content.length, start);
+            return content;
         } catch (IOException e) {
             throw new RuntimeException("Failed to read file: " + e.getMessage());
         }
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public FileChannelResource getDocumentResource(Long documentId) {
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> new RuntimeException("Document not found"));
+        
+        FileChannelResource resource = new FileChannelResource(Paths.get(document.getDocumentPath()));
+        if (!resource.isReadable()) {
+            throw new RuntimeException("Failed to read file: " + document.getDocumentPath());
+        }
+        return resource;
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public String getDocumentPath(Long documentId) {
@@ -165,14 +364,18 @@ public class DocumentServiceImpl implements DocumentService {
         return document.getDocumentPath();
     }
     
-    private String getFileExtension(String filename) {
+    private boolean isContentAddressed() {
+        return "content-addressed".equalsIgnoreCase(storageMode);
+    }
+    
+    static String getFileExtension(String filename) {
         if (filename == null || filename.lastIndexOf(".") == -1) {
             return "";
         }
         return filename.substring(filename.lastIndexOf(".") + 1).toLowerCase();
     }
     
-    private DocumentType getDocumentType(String extension) {
+    static DocumentType getDocumentType(String extension) {
         return switch (extension.toUpperCase()) {
             case "PDF" -> DocumentType.PDF;
             case "JPG", "JPEG" -> DocumentType.JPG;
@@ -0,0 +1,115 @@
+package com.hicms.service.impl;
+
+import com.hicms.dto.EnrollmentExpiryResultDTO;
+import com.hicms.entity.PolicyEnrollment.EnrollmentStatus;
+import com.hicms.repository.PolicyEnrollmentRepository;
+import com.hicms.service.EnrollmentChangedEvent;
+import com.hicms.service.EnrollmentExpiryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Implementation of EnrollmentExpiryService.
+ * Due rows are claimed in chunks with FOR UPDATE SKIP LOCKED and expired by a
+ * conditional UPDATE, each chunk in its own short transaction. Several nodes
+ * can run the job at once without touching the same rows, and a run that
+ * stops halfway is finished by the next one.
+ */
+@Service
+@Slf4j
+public class EnrollmentExpiryServiceImpl implements EnrollmentExpiryService {
+    
+    private final PolicyEnrollmentRepository enrollmentRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    
+    private volatile EnrollmentExpiryResultDTO lastRun;
+    
+    public EnrollmentExpiryServiceImpl(PolicyEnrollmentRepository enrollmentRepository,
+                                       ApplicationEventPublisher eventPublisher,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${app.enrollments.expiry.chunk-size:500}") int chunkSize) {
+        this.enrollmentRepository = enrollmentRepository;
+        this.eventPublisher = eventPublisher;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+    
+    @Scheduled(cron = "${app.enrollments.expiry.cron:0 15 0 * * *}")
+    public void scheduledExpiry() {
+        expireEnrollments(LocalDate.now());
+    }
+    
+    @Override
+    public EnrollmentExpiryResultDTO expireEnrollments(LocalDate asOfDate) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        int expired = 0;
+        int chunks = 0;
+        
+        while (true) {
+            ChunkResult chunk = chunkTransaction.execute(status -> expireChunk(asOfDate));
+            if (chunk.claimed() == 0) {
+                break;
+            }
+            chunks++;
+            expired += chunk.expired();
+            if (chunk.claimed() < chunkSize) {
+                break;
+            }
+        }
+        
+        EnrollmentExpiryResultDTO result = EnrollmentExpiryResultDTO.builder()
+                .asOfDate(asOfDate)
+                .expiredCount(expired)
+                .chunkCount(chunks)
+                .durationMillis((System.nanoTime() - start) / 1_000_000)
+                .startedAt(startedAt)
+                .build();
+        lastRun = result;
+        log.info("Enrollment expiry as of {}: {} enrollments expired in {} chunks, {} ms",
+                asOfDate, expired, chunks, result.getDurationMillis());
+        return result;
+    }
+    
+    private ChunkResult expireChunk(LocalDate asOfDate) {
+        List<Object[]> due = enrollmentRepository.lockEnrollmentsDueForExpiry(asOfDate, chunkSize);
+        if (due.isEmpty()) {
+            return new ChunkResult(0, 0);
+        }
+        
+        List<Long> enrollmentIds = new ArrayList<>(due.size());
+        Set<Long> policyholderIds = new LinkedHashSet<>();
+        for (Object[] row : due) {
+            enrollmentIds.add(((Number) row[0]).longValue());
+            policyholderIds.add(((Number) row[1]).longValue());
+        }
+        
+        int expired = enrollmentRepository.expireEnrollments(
+                enrollmentIds, EnrollmentStatus.ACTIVE, EnrollmentStatus.EXPIRED);
+        // Refreshes the eligibility index for these users once the chunk commits
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(policyholderIds));
+        return new ChunkResult(due.size(), expired);
+    }
+    
+    @Override
+    public Optional<EnrollmentExpiryResultDTO> getLastRun() {
+        return Optional.ofNullable(lastRun);
+    }
+    
+    private record ChunkResult(int claimed, int expired) {
+    }
+}
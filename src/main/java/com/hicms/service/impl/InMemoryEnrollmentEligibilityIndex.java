@@ -0,0 +1,192 @@
+package com.hicms.service.impl;
+
+import com.hicms.datasource.ReadFromPrimary;
+import com.hicms.entity.PolicyEnrollment.EnrollmentStatus;
+import com.hicms.repository.PolicyEnrollmentRepository;
+import com.hicms.security.UserAccountChangedEvent;
+import com.hicms.service.EnrollmentChangedEvent;
+import com.hicms.service.EnrollmentEligibilityIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * EnrollmentEligibilityIndex kept in memory as userId -> sorted policy ids.
+ * A user's entry is reloaded after any of their enrollments commits, and the
+ * whole index is reconciled against the database on a schedule. Every entry
+ * carries the version of the read that produced it, so a slower, older read
+ * never overwrites a newer one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InMemoryEnrollmentEligibilityIndex implements EnrollmentEligibilityIndex {
+    
+    private static final List<EnrollmentStatus> INDEXED_STATUSES =
+            List.of(EnrollmentStatus.ACTIVE, EnrollmentStatus.PENDING);
+    
+    private final PolicyEnrollmentRepository enrollmentRepository;
+    
+    private final ConcurrentHashMap<Long, Eligibility> eligibilityByUser = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    
+    // Until the first load completes, answer from the database
+    private volatile boolean loaded;
+    
+    @Override
+    public boolean hasActiveEnrollment(Long userId, Long policyId) {
+        if (!loaded) {
+            return enrollmentRepository.existsByPolicyholderUserIdAndPolicyPolicyIdAndEnrollmentStatusIn(
+                    userId, policyId, List.of(EnrollmentStatus.ACTIVE));
+        }
+        Eligibility eligibility = eligibilityByUser.get(userId);
+        return eligibility != null && Arrays.binarySearch(eligibility.active(), policyId) >= 0;
+    }
+    
+    @Override
+    public boolean hasActiveOrPendingEnrollment(Long userId, Long policyId) {
+        if (!loaded) {
+            return enrollmentRepository.existsByPolicyholderUserIdAndPolicyPolicyIdAndEnrollmentStatusIn(
+                    userId, policyId, INDEXED_STATUSES);
+        }
+        Eligibility eligibility = eligibilityByUser.get(userId);
+        return eligibility != null
+                && (Arrays.binarySearch(eligibility.active(), policyId) >= 0
+                    || Arrays.binarySearch(eligibility.pending(), policyId) >= 0);
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+        loaded = true;
+        log.info("Enrollment eligibility index loaded for {} users", eligibilityByUser.size());
+    }
+    
+    @Scheduled(initialDelayString = "${app.enrollments.eligibility.reconcile-interval-ms:300000}",
+               fixedDelayString = "${app.enrollments.eligibility.reconcile-interval-ms:300000}")
+    public void scheduledReconcile() {
+        if (!loaded) {
+            return;
+        }
+        int corrected = reconcile();
+        if (corrected > 0) {
+            log.warn("Enrollment eligibility reconciliation corrected {} users", corrected);
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public int reconcile() {
+        long version = versions.incrementAndGet();
+        Map<Long, Eligibility> snapshot = toEligibility(version,
+                enrollmentRepository.findPolicyholderPoliciesByStatus(INDEXED_STATUSES));
+        
+        AtomicInteger corrected = new AtomicInteger();
+        snapshot.forEach((userId, fresh) -> eligibilityByUser.compute(userId, (id, current) -> {
+            if (current != null && current.version() > version) {
+                return current;
+            }
+            if (current == null || !current.sameAs(fresh)) {
+                corrected.incrementAndGet();
+            }
+            return fresh;
+        }));
+        
+        // Users with no remaining ACTIVE/PENDING enrollment
+        for (Long userId : eligibilityByUser.keySet()) {
+            if (!snapshot.containsKey(userId)) {
+                eligibilityByUser.computeIfPresent(userId, (id, current) -> {
+                    if (current.version() > version) {
+                        return current;
+                    }
+                    corrected.incrementAndGet();
+                    return null;
+                });
+            }
+        }
+        return corrected.get();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @ReadFromPrimary
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        reloadUsers(event.policyholderIds());
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @ReadFromPrimary
+    public void onAccountChanged(UserAccountChangedEvent event) {
+        // Deleting a user cascades to their enrollments
+        reloadUsers(List.of(event.userId()));
+    }
+    
+    private void reloadUsers(Collection<Long> userIds) {
+        long version = versions.incrementAndGet();
+        Map<Long, Eligibility> fresh = toEligibility(version,
+                enrollmentRepository.findPolicyholderPoliciesByStatus(userIds, INDEXED_STATUSES));
+        for (Long userId : userIds) {
+            eligibilityByUser.compute(userId, (id, current) -> {
+                if (current != null && current.version() > version) {
+                    return current;
+                }
+                return fresh.get(userId);
+            });
+        }
+    }
+    
+    /**
+     * Groups [policyholderId, policyId, status] rows into one entry per user
+     */
+    private static Map<Long, Eligibility> toEligibility(long version, List<Object[]> rows) {
+        Map<Long, long[][]> builders = new HashMap<>();
+        Map<Long, int[]> sizes = new HashMap<>();
+        for (Object[] row : rows) {
+            Long userId = (Long) row[0];
+            long policyId = (Long) row[1];
+            int slot = row[2] == EnrollmentStatus.ACTIVE ? 0 : 1;
+            long[][] ids = builders.computeIfAbsent(userId, id -> new long[][] {new long[2], new long[2]});
+            int[] size = sizes.computeIfAbsent(userId, id -> new int[2]);
+            if (size[slot] == ids[slot].length) {
+                ids[slot] = Arrays.copyOf(ids[slot], size[slot] * 2);
+            }
+            ids[slot][size[slot]++] = policyId;
+        }
+        
+        Map<Long, Eligibility> result = new HashMap<>(builders.size() * 2);
+        builders.forEach((userId, ids) -> {
+            int[] size = sizes.get(userId);
+            result.put(userId, new Eligibility(version, sortedDistinct(ids[0], size[0]), sortedDistinct(ids[1], size[1])));
+        });
+        return result;
+    }
+    
+    private static long[] sortedDistinct(long[] ids, int size) {
+        return Arrays.stream(ids, 0, size).sorted().distinct().toArray();
+    }
+    
+    /**
+     * Policy ids of one user, sorted for binary search
+     */
+    private record Eligibility(long version, long[] active, long[] pending) {
+        
+        boolean sameAs(Eligibility other) {
+            return Arrays.equals(active, other.active) && Arrays.equals(pending, other.pending);
+        }
+    }
+}
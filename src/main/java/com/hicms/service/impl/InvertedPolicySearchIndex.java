@@ -0,0 +1,265 @@
+package com.hicms.service.impl;
+
+import com.hicms.datasource.ReadFromPrimary;
+import com.hicms.entity.Policy;
+import com.hicms.repository.PolicyRepository;
+import com.hicms.service.PolicyCatalogReloadedEvent;
+import com.hicms.service.PolicyChangedEvent;
+import com.hicms.service.PolicySearchIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * PolicySearchIndex kept in memory as an inverted index of term -> policies,
+ * plus a trigram index of term -> vocabulary used to expand each query word to
+ * the indexed terms it is a prefix of or a likely misspelling of. Query cost
+ * depends on the vocabulary and the posting lists touched, not on the number of
+ * policies. A policy is re-indexed on its own after any change to it commits
+ * on this node; changes from other nodes rebuild the index when the policy
+ * catalog's version check reloads.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InvertedPolicySearchIndex implements PolicySearchIndex {
+    
+    // A hit in the policy number outranks one in the name, which outranks one in the description
+    private static final float NUMBER_WEIGHT = 4f;
+    private static final float NAME_WEIGHT = 3f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    
+    // A query word matching the start of a term, e.g. "dent" for "dental"
+    private static final float PREFIX_SIMILARITY = 0.8f;
+    
+    // Minimum trigram overlap (Dice coefficient) for a term to count as a misspelling of a query word
+    private static final float MIN_SIMILARITY = 0.45f;
+    
+    private final PolicyRepository policyRepository;
+    
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    
+    // term -> policyId -> summed field weight
+    private final Map<String, Map<Long, Float>> postings = new HashMap<>();
+    
+    // trigram -> terms containing it
+    private final Map<String, Set<String>> termsByGram = new HashMap<>();
+    
+    // policyId -> its terms, to remove the old postings on re-index
+    private final Map<Long, Set<String>> termsByPolicy = new HashMap<>();
+    
+    @Override
+    public Hits search(String query, int offset, int limit) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return new Hits(List.of(), 0);
+        }
+        
+        Map<Long, Float> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documents = Math.max(termsByPolicy.size(), 1);
+            for (String word : new LinkedHashSet<>(words)) {
+                expand(word).forEach((term, similarity) -> {
+                    Map<Long, Float> postingList = postings.get(term);
+                    float idf = (float) Math.log(1 + (double) documents / postingList.size());
+                    postingList.forEach((policyId, weight) ->
+                            scores.merge(policyId, similarity * weight * idf, Float::sum));
+                });
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        
+        return new Hits(topHits(scores, offset, limit), scores.size());
+    }
+    
+    /**
+     * Indexed terms a query word can stand for, with how closely each matches it
+     */
+    private Map<String, Float> expand(String word) {
+        Map<String, Float> terms = new HashMap<>();
+        if (postings.containsKey(word)) {
+            terms.put(word, 1f);
+        }
+        
+        List<String> wordGrams = trigrams(word);
+        Map<String, Integer> shared = new HashMap<>();
+        for (String gram : new HashSet<>(wordGrams)) {
+            for (String term : termsByGram.getOrDefault(gram, Set.of())) {
+                shared.merge(term, 1, Integer::sum);
+            }
+        }
+        shared.forEach((term, common) -> {
+            if (term.equals(word)) {
+                return;
+            }
+            float similarity = 2f * common / (wordGrams.size() + trigrams(term).size());
+            if (term.startsWith(word)) {
+                similarity = Math.max(similarity, PREFIX_SIMILARITY);
+            }
+            if (similarity >= MIN_SIMILARITY) {
+                // Scaled below an exact match so the exact term still ranks first
+                terms.put(term, similarity * PREFIX_SIMILARITY);
+            }
+        });
+        return terms;
+    }
+    
+    /**
+     * Selects one page of the highest scores with a bounded heap, ties broken by policy id
+     */
+    private static List<Long> topHits(Map<Long, Float> scores, int offset, int limit) {
+        if (limit <= 0 || offset >= scores.size()) {
+            return List.of();
+        }
+        int wanted = (int) Math.min((long) offset + limit, scores.size());
+        Comparator<Map.Entry<Long, Float>> ranking = Map.Entry.<Long, Float>comparingByValue()
+                .reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Float>> heap = new PriorityQueue<>(wanted + 1, ranking.reversed());
+        for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+            heap.offer(entry);
+            if (heap.size() > wanted) {
+                heap.poll();
+            }
+        }
+        List<Map.Entry<Long, Float>> ranked = new ArrayList<>(heap);
+        ranked.sort(ranking);
+        return ranked.subList(offset, ranked.size()).stream().map(Map.Entry::getKey).toList();
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+        log.info("Policy search index loaded with {} policies and {} terms", termsByPolicy.size(), postings.size());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Policy> policies = policyRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByGram.clear();
+            termsByPolicy.clear();
+            policies.forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    @EventListener
+    @Transactional(readOnly = true)
+    @ReadFromPrimary
+    public void onCatalogReloaded(PolicyCatalogReloadedEvent event) {
+        log.debug("Rebuilding policy search index for catalog version {}", event.version());
+        rebuild();
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @ReadFromPrimary
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        Policy policy = policyRepository.findById(event.policyId()).orElse(null);
+        lock.writeLock().lock();
+        try {
+            remove(event.policyId());
+            if (policy != null) {
+                add(policy);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+    
+    private void add(Policy policy) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, policy.getPolicyNumber(), NUMBER_WEIGHT);
+        addField(weights, policy.getPolicyName(), NAME_WEIGHT);
+        addField(weights, policy.getDescription(), DESCRIPTION_WEIGHT);
+        
+        Long policyId = policy.getPolicyId();
+        weights.forEach((term, weight) -> {
+            Map<Long, Float> postingList = postings.computeIfAbsent(term, t -> new HashMap<>());
+            if (postingList.isEmpty()) {
+                trigrams(term).forEach(gram -> termsByGram.computeIfAbsent(gram, g -> new HashSet<>()).add(term));
+            }
+            postingList.put(policyId, weight);
+        });
+        termsByPolicy.put(policyId, weights.keySet());
+    }
+    
+    private void remove(Long policyId) {
+        Set<String> terms = termsByPolicy.remove(policyId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Float> postingList = postings.get(term);
+            postingList.remove(policyId);
+            if (postingList.isEmpty()) {
+                postings.remove(term);
+                for (String gram : trigrams(term)) {
+                    Set<String> gramTerms = termsByGram.get(gram);
+                    gramTerms.remove(term);
+                    if (gramTerms.isEmpty()) {
+                        termsByGram.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+    
+    private static void addField(Map<String, Float> weights, String text, float weight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Float::sum);
+        }
+    }
+    
+    /**
+     * Lower-cased runs of letters and digits, so "POL-20240115-0001" indexes as pol, 20240115 and 0001
+     */
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+    
+    /**
+     * Trigrams of the term padded with boundary markers, so short terms and word starts get grams too
+     */
+    private static List<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+}
@@ -0,0 +1,46 @@
+package com.hicms.service.impl;
+
+import com.hicms.entity.Role;
+import com.hicms.entity.User;
+import com.hicms.repository.ClaimRepository;
+import com.hicms.repository.UserRepository;
+import com.hicms.service.ClaimDistributionPolicy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lets an adjuster lease only as many claims as keeps them within the
+ * request size of the least-loaded enabled adjuster, counting claims under
+ * review plus live leases. Busy adjusters wait until the others catch up.
+ */
+@Component
+@RequiredArgsConstructor
+public class LeastLoadedDistributionPolicy implements ClaimDistributionPolicy {
+    
+    private final ClaimRepository claimRepository;
+    private final UserRepository userRepository;
+    
+    @Override
+    public String getName() {
+        return "least-loaded";
+    }
+    
+    @Override
+    public int allowance(Long adjusterId, int requested) {
+        Map<Long, Long> openClaims = new HashMap<>();
+        for (Object[] row : claimRepository.countOpenClaimsGroupedByAdjuster(LocalDateTime.now())) {
+            openClaims.put((Long) row[0], (Long) row[1]);
+        }
+        
+        long ownLoad = openClaims.getOrDefault(adjusterId, 0L);
+        long minLoad = userRepository.findByRoleAndEnabledTrue(Role.CLAIM_ADJUSTER).stream()
+                .map(User::getUserId)
+                .mapToLong(id -> openClaims.getOrDefault(id, 0L))
+                .min()
+                .orElse(ownLoad);
+        return (int) Math.max(0, Math.min(requested, minLoad + requested - ownLoad));
+    }
+}
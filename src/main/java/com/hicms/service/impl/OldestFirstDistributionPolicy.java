@@ -0,0 +1,16 @@
+package com.hicms.service.impl;
+
+import com.hicms.service.ClaimDistributionPolicy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Every adjuster takes the oldest available claims, as many as requested
+ */
+@Component
+public class OldestFirstDistributionPolicy implements ClaimDistributionPolicy {
+    
+    @Override
+    public String getName() {
+        return "oldest-first";
+    }
+}
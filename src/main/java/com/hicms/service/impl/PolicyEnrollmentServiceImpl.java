@@ -7,8 +7,11 @@ import com.hicms.entity.PolicyEnrollment.EnrollmentStatus;
 import com.hicms.entity.User;
 import com.hicms.repository.PolicyEnrollmentRepository;
 import com.hicms.repository.PolicyRepository;
+import com.hicms.service.EnrollmentChangedEvent;
+import com.hicms.service.EnrollmentEligibilityIndex;
 import com.hicms.service.PolicyEnrollmentService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
@@ -27,6 +30,8 @@ public class PolicyEnrollmentServiceImpl implements PolicyEnrollmentService {
     
     private final PolicyEnrollmentRepository enrollmentRepository;
     private final PolicyRepository policyRepository;
+    private final EnrollmentEligibilityIndex eligibilityIndex;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     public PolicyEnrollment enrollInPolicy(Long policyId, User policyholder, User agent) {
@@ -59,7 +64,9 @@ public class PolicyEnrollmentServiceImpl implements PolicyEnrollmentService {
                 .enrollmentStatus(EnrollmentStatus.ACTIVE)
                 .build();
         
-        return enrollmentRepository.save(enrollment);
+        PolicyEnrollment saved = enrollmentRepository.save(enrollment);
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(policyholder.getUserId()));
+        return saved;
     }
     
     @Override
@@ -97,7 +104,9 @@ public class PolicyEnrollmentServiceImpl implements PolicyEnrollmentService {
         PolicyEnrollment enrollment = enrollmentRepository.findById(enrollmentId)
                 .orElseThrow(() -> new RuntimeException("Enrollment not found"));
         enrollment.setEnrollmentStatus(status);
-        return enrollmentRepository.save(enrollment);
+        PolicyEnrollment saved = enrollmentRepository.save(enrollment);
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(enrollment.getPolicyholder().getUserId()));
+        return saved;
     }
     
     @Override
@@ -106,13 +115,12 @@ public class PolicyEnrollmentServiceImpl implements PolicyEnrollmentService {
                 .orElseThrow(() -> new RuntimeException("Enrollment not found"));
         enrollment.setEnrollmentStatus(EnrollmentStatus.CANCELLED);
         enrollmentRepository.save(enrollment);
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(enrollment.getPolicyholder().getUserId()));
     }
     
     @Override
-    @Transactional(readOnly = true)
     public boolean isUserEnrolledInPolicy(Long userId, Long policyId) {
-        return enrollmentRepository.existsByPolicyholderUserIdAndPolicyPolicyIdAndEnrollmentStatusIn(
-                userId, policyId, Arrays.asList(EnrollmentStatus.ACTIVE, EnrollmentStatus.PENDING));
+        return eligibilityIndex.hasActiveOrPendingEnrollment(userId, policyId);
     }
     
     @Override
@@ -158,5 +166,6 @@ public class PolicyEnrollmentServiceImpl implements PolicyEnrollmentService {
         }
         
         enrollmentRepository.delete(enrollment);
+        eventPublisher.publishEvent(new EnrollmentChangedEvent(enrollment.getPolicyholder().getUserId()));
     }
 }
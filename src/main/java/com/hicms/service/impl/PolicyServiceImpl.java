@@ -1,19 +1,26 @@
 package com.hicms.service.impl;
 
 import com.hicms.dto.PolicyDTO;
+import com.hicms.dto.PolicySearchPageDTO;
 import com.hicms.entity.Policy;
 import com.hicms.entity.PolicyStatus;
 import com.hicms.entity.User;
 import com.hicms.repository.PolicyRepository;
+import com.hicms.service.BusinessNumberGenerator;
+import com.hicms.service.PolicyCatalog;
+import com.hicms.service.PolicyCatalog.CatalogPolicy;
+import com.hicms.service.PolicyChangedEvent;
+import com.hicms.service.PolicySearchIndex;
 import com.hicms.service.PolicyService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.UUID;
 
 /**
  * Implementation of PolicyService
@@ -24,6 +31,20 @@ import java.util.UUID;
 public class PolicyServiceImpl implements PolicyService {
     
     private final PolicyRepository policyRepository;
+    private final BusinessNumberGenerator numberGenerator;
+    private final PolicyCatalog policyCatalog;
+    private final PolicySearchIndex searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    @Value("${app.policies.search.default-size:20}")
+    private int defaultPageSize;
+    
+    @Value("${app.policies.search.max-size:100}")
+    private int maxPageSize;
+    
+    // Every skipped hit still goes through the ranking heap
+    @Value("${app.policies.search.max-offset:10000}")
+    private int maxOffset;
     
     @Override
     public Policy createPolicy(PolicyDTO policyDTO, User createdBy) {
@@ -38,7 +59,9 @@ public class PolicyServiceImpl implements PolicyService {
                 .createdBy(createdBy)
                 .build();
         
-        return policyRepository.save(policy);
+        Policy saved = policyRepository.save(policy);
+        catalogChanged(saved.getPolicyId());
+        return saved;
     }
     
     @Override
@@ -56,7 +79,9 @@ public class PolicyServiceImpl implements PolicyService {
             policy.setPolicyStatus(policyDTO.getPolicyStatus());
         }
         
-        return policyRepository.save(policy);
+        Policy saved = policyRepository.save(policy);
+        catalogChanged(policyId);
+        return saved;
     }
     
     @Override
@@ -73,20 +98,26 @@ public class PolicyServiceImpl implements PolicyService {
     
     @Override
     @Transactional(readOnly = true)
-    public List<Policy> findAllPolicies() {
-        return policyRepository.findAll();
+    public Optional<PolicyDTO> findPolicyDTO(Long policyId) {
+        return policyCatalog.findById(policyId).map(this::convertToDTO);
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<Policy> findActivePolicies() {
-        return policyRepository.findByPolicyStatus(PolicyStatus.ACTIVE);
+    public List<PolicyDTO> findAllPolicies() {
+        return policyCatalog.findAll().stream().map(this::convertToDTO).toList();
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<Policy> findPoliciesByStatus(PolicyStatus status) {
-        return policyRepository.findByPolicyStatus(status);
+    public List<PolicyDTO> findActivePolicies() {
+        return findPoliciesByStatus(PolicyStatus.ACTIVE);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<PolicyDTO> findPoliciesByStatus(PolicyStatus status) {
+        return policyCatalog.findByStatus(status).stream().map(this::convertToDTO).toList();
     }
     
     @Override
@@ -95,6 +126,7 @@ public class PolicyServiceImpl implements PolicyService {
                 .orElseThrow(() -> new RuntimeException("Policy not found"));
         policy.setPolicyStatus(PolicyStatus.CANCELLED);
         policyRepository.save(policy);
+        catalogChanged(policyId);
     }
     
     @Override
@@ -103,6 +135,13 @@ public class PolicyServiceImpl implements PolicyService {
                 .orElseThrow(() -> new RuntimeException("Policy not found"));
         policy.setPolicyStatus(status);
         policyRepository.save(policy);
+        catalogChanged(policyId);
+    }
+    
+    // Other nodes see the new version on their next check, this node reloads after commit
+    private void catalogChanged(Long policyId) {
+        policyRepository.incrementCatalogVersion(SnapshotPolicyCatalog.CATALOG_NAME);
+        eventPublisher.publishEvent(new PolicyChangedEvent(policyId));
     }
     
     @Override
@@ -122,17 +161,62 @@ public class PolicyServiceImpl implements PolicyService {
                 .build();
     }
     
+    // A fresh DTO per call, the catalog entry itself stays shared and unchanged
+    private PolicyDTO convertToDTO(CatalogPolicy policy) {
+        return PolicyDTO.builder()
+                .policyId(policy.policyId())
+                .policyNumber(policy.policyNumber())
+                .policyName(policy.policyName())
+                .description(policy.description())
+                .coverageAmount(policy.coverageAmount())
+                .premiumAmount(policy.premiumAmount())
+                .durationMonths(policy.durationMonths())
+                .policyStatus(policy.policyStatus())
+                .createdByUsername(policy.createdByUsername())
+                .createdDate(policy.createdDate() != null ?
+                        policy.createdDate().format(DateTimeFormatter.ISO_LOCAL_DATE) : null)
+                .build();
+    }
+    
     @Override
     public String generatePolicyNumber() {
-        String prefix = "POL";
-        String datePart = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String uniquePart = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
-        return prefix + "-" + datePart + "-" + uniquePart;
+        return numberGenerator.nextNumber("POL");
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<PolicyDTO> searchPolicies(String keyword) {
+        return resolve(searchIndex.search(keyword, 0, Integer.MAX_VALUE).policyIds());
     }
     
     @Override
     @Transactional(readOnly = true)
-    public List<Policy> searchPolicies(String keyword) {
-        return policyRepository.findByPolicyNameContainingIgnoreCase(keyword);
+    public PolicySearchPageDTO searchPolicies(String keyword, int page, Integer size) {
+        int pageSize = size == null || size <= 0 ? defaultPageSize : Math.min(size, maxPageSize);
+        int pageNumber = Math.max(page, 0);
+        long offset = (long) pageNumber * pageSize;
+        if (offset > maxOffset) {
+            throw new IllegalArgumentException("Page is too deep, refine the search instead");
+        }
+        PolicySearchIndex.Hits hits = searchIndex.search(keyword, (int) offset, pageSize);
+        
+        return PolicySearchPageDTO.builder()
+                .policies(resolve(hits.policyIds()))
+                .query(keyword)
+                .page(pageNumber)
+                .size(pageSize)
+                .totalHits(hits.total())
+                .hasPrevious(pageNumber > 0)
+                .hasNext((long) (pageNumber + 1) * pageSize < hits.total())
+                .build();
+    }
+    
+    // Hits are resolved from the catalog snapshot, a policy removed since it was indexed is skipped
+    private List<PolicyDTO> resolve(List<Long> policyIds) {
+        return policyIds.stream()
+                .map(policyId -> policyCatalog.findById(policyId).orElse(null))
+                .filter(Objects::nonNull)
+                .map(this::convertToDTO)
+                .toList();
     }
 }
@@ -0,0 +1,56 @@
+package com.hicms.service.impl;
+
+import com.hicms.entity.Role;
+import com.hicms.repository.UserRepository;
+import com.hicms.service.ClaimDistributionPolicy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.IntFunction;
+
+/**
+ * Deals claims to enabled adjusters in rotation by claim id: an adjuster gets
+ * the claims of their own turn first and only falls back to other turns when
+ * none of theirs are available.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoundRobinDistributionPolicy implements ClaimDistributionPolicy {
+    
+    private static final int MAX_CANDIDATE_WINDOW = 500;
+    
+    private final UserRepository userRepository;
+    
+    @Override
+    public String getName() {
+        return "round-robin";
+    }
+    
+    @Override
+    public List<Long> select(Long adjusterId, int allowance, IntFunction<List<Long>> lockCandidates) {
+        List<Long> adjusterIds = userRepository.findEnabledUserIdsByRole(Role.CLAIM_ADJUSTER);
+        int turn = Collections.binarySearch(adjusterIds, adjusterId);
+        if (turn < 0) {
+            return ClaimDistributionPolicy.super.select(adjusterId, allowance, lockCandidates);
+        }
+        
+        // Enough candidates for every adjuster's turn to hold the allowance
+        List<Long> candidates = lockCandidates.apply(Math.min(allowance * adjusterIds.size(), MAX_CANDIDATE_WINDOW));
+        Set<Long> selected = new LinkedHashSet<>(allowance);
+        for (Long claimId : candidates) {
+            if (selected.size() < allowance && claimId % adjusterIds.size() == turn) {
+                selected.add(claimId);
+            }
+        }
+        for (Long claimId : candidates) {
+            if (selected.size() < allowance) {
+                selected.add(claimId);
+            }
+        }
+        return new ArrayList<>(selected);
+    }
+}
@@ -0,0 +1,155 @@
+package com.hicms.service.impl;
+
+import com.hicms.datasource.ReadFromPrimary;
+import com.hicms.entity.Policy;
+import com.hicms.entity.PolicyStatus;
+import com.hicms.repository.PolicyRepository;
+import com.hicms.service.PolicyCatalog;
+import com.hicms.service.PolicyCatalog.CatalogPolicy;
+import com.hicms.service.PolicyCatalogReloadedEvent;
+import com.hicms.service.PolicyChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * PolicyCatalog backed by an immutable snapshot of every policy that readers
+ * access without locking. The snapshot holds CatalogPolicy values copied from
+ * the entities at load time, so no caller can change what another one reads.
+ * Writes bump the catalog version in catalog_versions inside their own
+ * transaction; after commit this node loads a new snapshot and swaps it in,
+ * and other nodes pick the change up from a periodic version check, which then
+ * publishes PolicyCatalogReloadedEvent. A snapshot read at an older version
+ * never replaces a newer one.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SnapshotPolicyCatalog implements PolicyCatalog {
+    
+    static final String CATALOG_NAME = "policies";
+    
+    private final PolicyRepository policyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    // Null until the first load; a lookup before ApplicationReadyEvent loads it on the spot
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    
+    @Override
+    public List<CatalogPolicy> findAll() {
+        return current().all();
+    }
+    
+    @Override
+    public List<CatalogPolicy> findByStatus(PolicyStatus status) {
+        return current().byStatus().get(status);
+    }
+    
+    @Override
+    public Optional<CatalogPolicy> findById(Long policyId) {
+        return Optional.ofNullable(current().byId().get(policyId));
+    }
+    
+    @Override
+    public Optional<CatalogPolicy> findByPolicyNumber(String policyNumber) {
+        return Optional.ofNullable(current().byNumber().get(policyNumber));
+    }
+    
+    @Override
+    public Optional<BigDecimal> findCoverageAmount(Long policyId) {
+        return findById(policyId).map(CatalogPolicy::coverageAmount);
+    }
+    
+    private Snapshot current() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            refresh();
+            current = snapshot.get();
+        }
+        return current;
+    }
+    
+    @Override
+    public long version() {
+        Snapshot current = snapshot.get();
+        return current != null ? current.version() : -1;
+    }
+    
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+        log.info("Policy catalog loaded with {} policies at version {}", snapshot.get().all().size(), version());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public void refresh() {
+        // Read the version first so a write committed during the load is caught by the next check
+        long version = policyRepository.findCatalogVersion(CATALOG_NAME).orElse(0L);
+        Snapshot fresh = Snapshot.of(version, policyRepository.findAllWithCreator());
+        snapshot.accumulateAndGet(fresh, (current, loaded) ->
+                current == null || loaded.version() >= current.version() ? loaded : current);
+    }
+    
+    @Scheduled(initialDelayString = "${app.policies.catalog.version-check-ms:10000}",
+               fixedDelayString = "${app.policies.catalog.version-check-ms:10000}")
+    @Transactional(readOnly = true)
+    public void checkVersion() {
+        Snapshot current = snapshot.get();
+        if (current == null) {
+            return;
+        }
+        long version = policyRepository.findCatalogVersion(CATALOG_NAME).orElse(0L);
+        if (version > current.version()) {
+            log.debug("Policy catalog changed from version {} to {}, reloading", current.version(), version);
+            refresh();
+            // Only this node's own writes publish PolicyChangedEvent, other in-memory views catch up here
+            eventPublisher.publishEvent(new PolicyCatalogReloadedEvent(version()));
+        }
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @ReadFromPrimary
+    public void onPolicyChanged(PolicyChangedEvent event) {
+        refresh();
+    }
+    
+    private record Snapshot(long version, List<CatalogPolicy> all, Map<PolicyStatus, List<CatalogPolicy>> byStatus,
+                            Map<Long, CatalogPolicy> byId, Map<String, CatalogPolicy> byNumber) {
+        
+        // Copies every policy into an immutable value, the entities never leave the loading transaction
+        static Snapshot of(long version, List<Policy> policies) {
+            List<CatalogPolicy> all = policies.stream().map(CatalogPolicy::of).toList();
+            Map<PolicyStatus, List<CatalogPolicy>> byStatus = new EnumMap<>(PolicyStatus.class);
+            for (PolicyStatus status : PolicyStatus.values()) {
+                byStatus.put(status, all.stream()
+                        .filter(policy -> policy.policyStatus() == status)
+                        .toList());
+            }
+            Map<Long, CatalogPolicy> byId = new HashMap<>(all.size() * 2);
+            Map<String, CatalogPolicy> byNumber = new HashMap<>(all.size() * 2);
+            for (CatalogPolicy policy : all) {
+                byId.put(policy.policyId(), policy);
+                byNumber.put(policy.policyNumber(), policy);
+            }
+            return new Snapshot(version, all, Collections.unmodifiableMap(byStatus), Map.copyOf(byId),
+                    Map.copyOf(byNumber));
+        }
+    }
+}
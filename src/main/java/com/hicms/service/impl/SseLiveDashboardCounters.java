@@ -0,0 +1,178 @@
+package com.hicms.service.impl;
+
+import com.hicms.entity.ClaimStatus;
+import com.hicms.entity.TicketStatus;
+import com.hicms.repository.ClaimRepository;
+import com.hicms.repository.SupportTicketRepository;
+import com.hicms.service.DashboardCountersChangedEvent;
+import com.hicms.service.LiveDashboardCounters;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * LiveDashboardCounters over Server-Sent Events. Committed claim and ticket
+ * changes only mark the counters dirty; a once-per-second tick reloads them
+ * with three COUNT queries, however many changes or subscribers there are, and
+ * sends each subscriber the counters that differ from what it last received.
+ * The counters are also reloaded periodically without a change event, so
+ * changes committed on other nodes reach the dashboards too.
+ *
+ * The tick holds a connection only for the short read-only transaction of the
+ * COUNT queries. Sends run on the dashboardPushExecutor, one in flight per
+ * subscriber, so a slow browser delays only its own updates and never the
+ * scheduler thread shared with the other jobs.
+ */
+@Service
+@Slf4j
+public class SseLiveDashboardCounters implements LiveDashboardCounters {
+    
+    private final ClaimRepository claimRepository;
+    private final SupportTicketRepository ticketRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final AsyncTaskExecutor pushExecutor;
+    private final long emitterTimeoutMillis;
+    private final long resyncMillis;
+    
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+    private volatile long lastLoadedAt;
+    
+    public SseLiveDashboardCounters(ClaimRepository claimRepository,
+                                    SupportTicketRepository ticketRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Qualifier("dashboardPushExecutor") AsyncTaskExecutor pushExecutor,
+                                    @Value("${app.dashboard.live.emitter-timeout-ms:1800000}") long emitterTimeoutMillis,
+                                    @Value("${app.dashboard.live.resync-ms:30000}") long resyncMillis) {
+        this.claimRepository = claimRepository;
+        this.ticketRepository = ticketRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.pushExecutor = pushExecutor;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+        this.resyncMillis = resyncMillis;
+    }
+    
+    @Override
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        // The next tick sends the new subscriber every counter
+        dirty.set(true);
+        return emitter;
+    }
+    
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountersChanged(DashboardCountersChangedEvent event) {
+        dirty.set(true);
+    }
+    
+    @Scheduled(fixedDelayString = "${app.dashboard.live.push-interval-ms:1000}")
+    public void push() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (!dirty.getAndSet(false) && now - lastLoadedAt < resyncMillis) {
+            return;
+        }
+        lastLoadedAt = now;
+        Map<String, Long> counters = readOnlyTransaction.execute(status -> loadCounters());
+        
+        for (Subscriber subscriber : subscribers) {
+            // A subscriber still busy with the previous send gets the difference on a later tick
+            if (!subscriber.sending.compareAndSet(false, true)) {
+                continue;
+            }
+            try {
+                pushExecutor.execute(() -> send(subscriber, counters));
+            } catch (RejectedExecutionException e) {
+                subscriber.sending.set(false);
+                log.warn("Dashboard push executor rejected a send: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private void send(Subscriber subscriber, Map<String, Long> counters) {
+        try {
+            Map<String, Long> changed = new LinkedHashMap<>();
+            counters.forEach((name, value) -> {
+                if (!Objects.equals(subscriber.lastSent.get(name), value)) {
+                    changed.put(name, value);
+                }
+            });
+            if (changed.isEmpty()) {
+                return;
+            }
+            subscriber.emitter.send(SseEmitter.event().name("counters").data(changed));
+            subscriber.lastSent = counters;
+        } catch (IOException | IllegalStateException e) {
+            // The browser went away; completing the emitter runs the removal callback
+            log.debug("Dropping dashboard subscriber: {}", e.getMessage());
+            subscribers.remove(subscriber);
+            subscriber.emitter.completeWithError(e);
+        } finally {
+            subscriber.sending.set(false);
+        }
+    }
+    
+    private Map<String, Long> loadCounters() {
+        Map<ClaimStatus, Long> claims = new LinkedHashMap<>();
+        for (Object[] row : claimRepository.countClaimsGroupedByStatus()) {
+            claims.put((ClaimStatus) row[0], ((Number) row[1]).longValue());
+        }
+        long openTickets = 0;
+        for (Object[] row : ticketRepository.countTicketsGroupedByStatus()) {
+            if (row[0] == TicketStatus.OPEN) {
+                openTickets = ((Number) row[1]).longValue();
+            }
+        }
+        
+        long pending = claims.getOrDefault(ClaimStatus.PENDING, 0L);
+        long underReview = claims.getOrDefault(ClaimStatus.UNDER_REVIEW, 0L);
+        Map<String, Long> counters = new LinkedHashMap<>();
+        counters.put("pendingClaims", pending);
+        counters.put("underReviewClaims", underReview);
+        counters.put("openClaims", pending + underReview);
+        counters.put("approvedClaims", claims.getOrDefault(ClaimStatus.APPROVED, 0L));
+        counters.put("rejectedClaims", claims.getOrDefault(ClaimStatus.REJECTED, 0L));
+        counters.put("totalClaims", claims.values().stream().mapToLong(Long::longValue).sum());
+        counters.put("unassignedClaims", claimRepository.countUnassignedClaims());
+        counters.put("openTickets", openTickets);
+        return counters;
+    }
+    
+    private static final class Subscriber {
+        
+        private final SseEmitter emitter;
+        
+        // Set while a send is queued or running, so sends to one emitter never overlap
+        private final AtomicBoolean sending = new AtomicBoolean();
+        
+        // Only written by the send that holds the sending flag
+        private volatile Map<String, Long> lastSent = Map.of();
+        
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+    }
+}
@@ -5,16 +5,18 @@ import com.hicms.entity.SupportTicket;
 import com.hicms.entity.TicketStatus;
 import com.hicms.entity.User;
 import com.hicms.repository.SupportTicketRepository;
+import com.hicms.service.BusinessNumberGenerator;
+import com.hicms.service.DashboardCountersChangedEvent;
 import com.hicms.service.SupportTicketService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +28,8 @@ import java.util.stream.Collectors;
 public class SupportTicketServiceImpl implements SupportTicketService {
     
     private final SupportTicketRepository ticketRepository;
+    private final BusinessNumberGenerator numberGenerator;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     public SupportTicket createTicket(SupportTicketDTO ticketDTO, User user) {
@@ -38,7 +42,7 @@ public class SupportTicketServiceImpl implements SupportTicketService {
                 .priority(ticketDTO.getPriority() != null ? ticketDTO.getPriority() : "MEDIUM")
                 .build();
         
-        return ticketRepository.save(ticket);
+        return saveAndNotify(ticket);
     }
     
     @Override
@@ -77,6 +81,12 @@ public class SupportTicketServiceImpl implements SupportTicketService {
         return ticketRepository.findOpenTickets();
     }
     
+    @Override
+    @Transactional(readOnly = true)
+    public List<SupportTicket> findRecentOpenTickets(int limit) {
+        return ticketRepository.findRecentOpenTickets(PageRequest.of(0, limit));
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<SupportTicket> findTicketsAssignedTo(Long userId) {
@@ -89,7 +99,7 @@ public class SupportTicketServiceImpl implements SupportTicketService {
                 .orElseThrow(() -> new RuntimeException("Ticket not found"));
         ticket.setAssignedTo(assignee);
         ticket.setTicketStatus(TicketStatus.IN_PROGRESS);
-        return ticketRepository.save(ticket);
+        return saveAndNotify(ticket);
     }
     
     @Override
@@ -102,7 +112,7 @@ public class SupportTicketServiceImpl implements SupportTicketService {
             ticket.setResolvedDate(LocalDateTime.now());
         }
         
-        return ticketRepository.save(ticket);
+        return saveAndNotify(ticket);
     }
     
     @Override
@@ -112,7 +122,14 @@ public class SupportTicketServiceImpl implements SupportTicketService {
         ticket.setResolution(resolution);
         ticket.setTicketStatus(TicketStatus.RESOLVED);
         ticket.setResolvedDate(LocalDateTime.now());
-        return ticketRepository.save(ticket);
+        return saveAndNotify(ticket);
+    }
+    
+    // Every ticket write may move the open ticket counter on live dashboards
+    private SupportTicket saveAndNotify(SupportTicket ticket) {
+        SupportTicket saved = ticketRepository.save(ticket);
+        eventPublisher.publishEvent(new DashboardCountersChangedEvent());
+        return saved;
     }
     
     @Override
@@ -144,10 +161,7 @@ public class SupportTicketServiceImpl implements SupportTicketService {
     
     @Override
     public String generateTicketNumber() {
-        String prefix = "TKT";
-        String datePart = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        String uniquePart = UUID.randomUUID().toString().substring(0, 6).toUpperCase();
-        return prefix + "-" + datePart + "-" + uniquePart;
+        return numberGenerator.nextNumber("TKT");
     }
     
     @Override
@@ -5,8 +5,11 @@ import com.hicms.dto.UserRegistrationDTO;
 import com.hicms.entity.Role;
 import com.hicms.entity.User;
 import com.hicms.repository.UserRepository;
+import com.hicms.security.AuthenticatedUser;
+import com.hicms.security.UserAccountChangedEvent;
 import com.hicms.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,6 +26,7 @@ public class UserServiceImpl implements UserService {
     
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Override
     public User registerUser(UserRegistrationDTO registrationDTO) {
@@ -64,6 +68,12 @@ public class UserServiceImpl implements UserService {
         return userRepository.findById(userId);
     }
     
+    @Override
+    public User getReference(Long userId) {
+        // Lazy proxy: only the id is known, no select is issued unless another field is read
+        return userRepository.getReferenceById(userId);
+    }
+    
     @Override
     @Transactional(readOnly = true)
     public List<User> findAllUsers() {
@@ -103,6 +113,17 @@ public class UserServiceImpl implements UserService {
                 .build();
     }
     
+    @Override
+    public UserDTO convertToDTO(AuthenticatedUser principal) {
+        return UserDTO.builder()
+                .userId(principal.getUserId())
+                .username(principal.getUsername())
+                .fullName(principal.getFullName())
+                .role(principal.getRole())
+                .enabled(principal.isEnabled())
+                .build();
+    }
+    
     @Override
     public User updateUser(Long userId, UserDTO userDTO) {
         User user = userRepository.findById(userId)
@@ -118,7 +139,9 @@ public class UserServiceImpl implements UserService {
             user.setRole(userDTO.getRole());
         }
         
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(saved.getUserId(), saved.getUsername()));
+        return saved;
     }
     
     @Override
@@ -127,6 +150,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setEnabled(true);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getUserId(), user.getUsername()));
     }
     
     @Override
@@ -135,6 +159,7 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setEnabled(false);
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getUserId(), user.getUsername()));
     }
     
     @Override
@@ -154,5 +179,6 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         userRepository.delete(user);
+        eventPublisher.publishEvent(new UserAccountChangedEvent(user.getUserId(), user.getUsername()));
     }
 }
@@ -0,0 +1,199 @@
+package com.hicms.storage;
+
+import com.hicms.entity.DocumentBlob;
+import com.hicms.repository.DocumentBlobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.IntConsumer;
+
+/**
+ * Content-addressed blob store. Each distinct file is written once under its
+ * SHA-256 hash and shared by reference count between Document rows.
+ * File moves and deletes are settled against the outcome of the surrounding
+ * transaction, so a rollback never leaves a file without its row or a row
+ * without its file.
+ */
+@Component
+@Transactional
+@Slf4j
+public class DocumentBlobStore {
+    
+    private static final String BLOB_DIRECTORY = "blobs";
+    private static final String TEMP_DIRECTORY = "tmp";
+    
+    private final DocumentBlobRepository blobRepository;
+    // Checks after completion run in their own transaction, on the primary
+    private final TransactionTemplate settleTransaction;
+    
+    public DocumentBlobStore(DocumentBlobRepository blobRepository, PlatformTransactionManager transactionManager) {
+        this.blobRepository = blobRepository;
+        this.settleTransaction = new TransactionTemplate(transactionManager);
+        this.settleTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    /**
+     * Content that has been written to a temp file and hashed, but not yet
+     * registered as a blob
+     */
+    public record StagedContent(Path tempFile, Path blobPath, String contentHash, long size) {
+    }
+    
+    /**
+     * Streams the content to disk once, hashing it on the way, and returns the
+     * blob it resolves to with one more reference recorded
+     */
+    public DocumentBlob store(InputStream content, Path storageDir) throws IOException {
+        StagedContent staged = stage(content, storageDir);
+        try {
+            return register(staged);
+        } catch (IOException | RuntimeException e) {
+            discard(staged);
+            throw e;
+        }
+    }
+    
+    /**
+     * Disk-only half of {@link #store}: writes and hashes the content without
+     * touching the database, so it can run off the transaction's thread
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public StagedContent stage(InputStream content, Path storageDir) throws IOException {
+        Path tempDir = storageDir.resolve(TEMP_DIRECTORY);
+        Files.createDirectories(tempDir);
+        Path tempFile = Files.createTempFile(tempDir, "upload-", ".part");
+        
+        try {
+            MessageDigest digest = newDigest();
+            long size;
+            try (DigestInputStream in = new DigestInputStream(content, digest)) {
+                size = Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String hash = HexFormat.of().formatHex(digest.digest());
+            
+            // Fan out by the first two hex digits to keep directories small
+            Path blobPath = storageDir.resolve(BLOB_DIRECTORY).resolve(hash.substring(0, 2)).resolve(hash);
+            return new StagedContent(tempFile, blobPath, hash, size);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+    
+    /**
+     * Records one more reference to the staged content and moves it into place
+     * if this is the first copy. The staged temp file is owned by the store from
+     * here on and removed once the transaction completes.
+     */
+    public DocumentBlob register(StagedContent staged) throws IOException {
+        // Take the row lock first so a concurrent release cannot delete the file underneath us
+        blobRepository.addReference(staged.contentHash(), staged.blobPath().toString(), staged.size());
+        boolean moved = false;
+        if (!Files.exists(staged.blobPath())) {
+            Files.createDirectories(staged.blobPath().getParent());
+            Files.move(staged.tempFile(), staged.blobPath(), StandardCopyOption.ATOMIC_MOVE);
+            moved = true;
+        }
+        
+        boolean movedHere = moved;
+        afterCompletion(status -> settleRegistered(staged, movedHere, status == TransactionSynchronization.STATUS_COMMITTED));
+        
+        return blobRepository.findByContentHash(staged.contentHash())
+                .orElseThrow(() -> new RuntimeException("Document blob not found"));
+    }
+    
+    /**
+     * Removes the temp file of staged content that was never registered
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public void discard(StagedContent staged) throws IOException {
+        Files.deleteIfExists(staged.tempFile());
+    }
+    
+    /**
+     * Drops one reference to the blob and deletes the file once nothing points at it
+     * and the transaction has committed
+     */
+    public void release(String contentHash) throws IOException {
+        blobRepository.removeReference(contentHash);
+        long references = blobRepository.findReferenceCount(contentHash)
+                .orElseThrow(() -> new RuntimeException("Document blob not found"));
+        
+        if (references <= 0) {
+            DocumentBlob blob = blobRepository.findByContentHash(contentHash)
+                    .orElseThrow(() -> new RuntimeException("Document blob not found"));
+            blobRepository.deleteUnreferenced(contentHash);
+            Path blobPath = Path.of(blob.getBlobPath());
+            afterCompletion(status -> {
+                if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                    deleteUnlessReferenced(contentHash, blobPath);
+                }
+            });
+        }
+    }
+    
+    /**
+     * On rollback the file this transaction moved into place goes again. On commit a
+     * file removed meanwhile by a concurrent rollback or release is restored from this
+     * transaction's own copy of the content.
+     */
+    private void settleRegistered(StagedContent staged, boolean moved, boolean committed) {
+        try {
+            if (!committed && moved) {
+                Files.deleteIfExists(staged.blobPath());
+            } else if (committed && !moved && !Files.exists(staged.blobPath())) {
+                Files.createDirectories(staged.blobPath().getParent());
+                Files.move(staged.tempFile(), staged.blobPath(), StandardCopyOption.ATOMIC_MOVE);
+            }
+            Files.deleteIfExists(staged.tempFile());
+        } catch (IOException e) {
+            log.error("Failed to settle blob {} after {}: {}", staged.contentHash(),
+                    committed ? "commit" : "rollback", e.getMessage());
+        }
+    }
+    
+    private void deleteUnlessReferenced(String contentHash, Path blobPath) {
+        try {
+            // The same content may have been uploaded again since the row was deleted
+            boolean referenced = Boolean.TRUE.equals(settleTransaction.execute(status ->
+                    blobRepository.findReferenceCount(contentHash).isPresent()));
+            if (!referenced) {
+                Files.deleteIfExists(blobPath);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to delete released blob {}: {}", contentHash, e.getMessage());
+        }
+    }
+    
+    private void afterCompletion(IntConsumer action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.accept(status);
+            }
+        });
+    }
+    
+    private MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.hicms.storage;
+
+import org.springframework.core.io.FileSystemResource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * File-backed resource that writes its content through FileChannel.transferTo,
+ * so serving a document never buffers the whole file on the heap
+ */
+public class FileChannelResource extends FileSystemResource {
+    
+    public FileChannelResource(Path filePath) {
+        super(filePath);
+    }
+    
+    /**
+     * Copies {@code count} bytes starting at {@code position} to the given stream
+     */
+    public void transferTo(long position, long count, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(getFile().toPath(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(out);
+            long end = position + count;
+            while (position < end) {
+                long written = channel.transferTo(position, end - position, target);
+                if (written <= 0) {
+                    break;
+                }
+                position += written;
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,127 @@
+-- Baseline schema, matching the JPA entities as created by ddl-auto=update before Flyway was introduced.
+-- Databases that already have these tables are baselined at version 1 and skip this script.
+
+create table claims (
+    approved_amount decimal(12,2),
+    claim_amount decimal(12,2) not null,
+    claim_date date not null,
+    adjuster_id bigint,
+    agent_id bigint,
+    claim_id bigint not null auto_increment,
+    claimant_id bigint not null,
+    created_date datetime(6),
+    policy_id bigint not null,
+    updated_date datetime(6),
+    claim_number varchar(50) not null,
+    reason varchar(500),
+    description varchar(1000),
+    remarks varchar(1000),
+    claim_status enum ('PENDING','UNDER_REVIEW','APPROVED','REJECTED','CANCELLED') not null,
+    primary key (claim_id)
+) engine=InnoDB;
+
+create table documents (
+    claim_id bigint not null,
+    document_id bigint not null auto_increment,
+    file_size bigint,
+    upload_date datetime(6),
+    uploaded_by bigint,
+    content_type varchar(100),
+    document_name varchar(100) not null,
+    document_path varchar(500) not null,
+    original_file_name varchar(255),
+    document_type enum ('PDF','JPG','PNG','DOC','DOCX') not null,
+    primary key (document_id)
+) engine=InnoDB;
+
+create table policies (
+    coverage_amount decimal(12,2) not null,
+    created_date date,
+    duration_months integer,
+    premium_amount decimal(10,2) not null,
+    created_by bigint,
+    policy_id bigint not null auto_increment,
+    updated_date datetime(6),
+    policy_number varchar(50) not null,
+    policy_name varchar(100) not null,
+    description varchar(500),
+    policy_status enum ('ACTIVE','INACTIVE','CANCELLED') not null,
+    primary key (policy_id)
+) engine=InnoDB;
+
+create table policy_enrollments (
+    end_date date,
+    enrollment_date date not null,
+    start_date date not null,
+    agent_id bigint,
+    created_date datetime(6),
+    enrollment_id bigint not null auto_increment,
+    policy_id bigint not null,
+    policyholder_id bigint not null,
+    updated_date datetime(6),
+    enrollment_status enum ('PENDING','ACTIVE','EXPIRED','CANCELLED') not null,
+    primary key (enrollment_id)
+) engine=InnoDB;
+
+create table support_tickets (
+    created_date date,
+    assigned_to bigint,
+    resolved_date datetime(6),
+    ticket_id bigint not null auto_increment,
+    updated_date datetime(6),
+    user_id bigint not null,
+    priority varchar(50),
+    ticket_number varchar(50) not null,
+    subject varchar(200),
+    issue_description TEXT not null,
+    resolution TEXT,
+    ticket_status enum ('OPEN','IN_PROGRESS','RESOLVED','CLOSED') not null,
+    primary key (ticket_id)
+) engine=InnoDB;
+
+create table users (
+    enabled bit not null,
+    created_date datetime(6),
+    updated_date datetime(6),
+    user_id bigint not null auto_increment,
+    phone varchar(15),
+    username varchar(50) not null,
+    email varchar(100) not null,
+    full_name varchar(100),
+    address varchar(255),
+    password varchar(255) not null,
+    role enum ('ADMIN','USER','AGENT','CLAIM_ADJUSTER') not null,
+    primary key (user_id)
+) engine=InnoDB;
+
+alter table claims add constraint UK_8prfn2h4t4bpdy5s6lonblk7m unique (claim_number);
+
+alter table policies add constraint UK_oa74bk3bbln2o1hgik4b93rp9 unique (policy_number);
+
+alter table support_tickets add constraint UK_63wdxui0979kwkbqiyclme9fw unique (ticket_number);
+
+alter table users add constraint UK_r43af9ap4edm43mmtq01oddj6 unique (username);
+
+alter table claims add constraint FK4bc43n0epx786gpsdnguapckc foreign key (adjuster_id) references users (user_id);
+
+alter table claims add constraint FKdklxndjl72peqs3a0hje32dqu foreign key (agent_id) references users (user_id);
+
+alter table claims add constraint FK882n1pydx5dehaufafidufaps foreign key (claimant_id) references users (user_id);
+
+alter table claims add constraint FKm0w2xffwe13pmkusoxnxuim7j foreign key (policy_id) references policies (policy_id);
+
+alter table documents add constraint FKt96pcgmfm72vpvltr4aa836lh foreign key (claim_id) references claims (claim_id);
+
+alter table documents add constraint FK1ugacya4ssi0ilf8a9tjycgs6 foreign key (uploaded_by) references users (user_id);
+
+alter table policies add constraint FKgkptap8j7yvhm36dtqs6mgiuc foreign key (created_by) references users (user_id);
+
+alter table policy_enrollments add constraint FKfvvkllrj7gxl9x28m6isbuw15 foreign key (agent_id) references users (user_id);
+
+alter table policy_enrollments add constraint FKdetvmsqqi5qab38ja0fkt71pi foreign key (policy_id) references policies (policy_id);
+
+alter table policy_enrollments add constraint FKdvkc14a6tkwi7lb78daan2kwr foreign key (policyholder_id) references users (user_id);
+
+alter table support_tickets add constraint FK8dtobc1tqyif0xuv09uty3eht foreign key (assigned_to) references users (user_id);
+
+alter table support_tickets add constraint FK4reg1h2465c00bg6dmqlv7ujv foreign key (user_id) references users (user_id);
@@ -0,0 +1,16 @@
+-- Content-addressed document store: one file per distinct SHA-256, shared by every document
+-- that uploads the same content. Documents stored per upload keep a null content_hash.
+
+create table document_blobs (
+    blob_id bigint not null auto_increment,
+    created_date datetime(6),
+    file_size bigint,
+    reference_count bigint not null,
+    content_hash varchar(64) not null,
+    blob_path varchar(500) not null,
+    primary key (blob_id)
+) engine=InnoDB;
+
+alter table document_blobs add constraint UK_1lxmllf7uael5rf3mt3luqnwy unique (content_hash);
+
+alter table documents add column content_hash varchar(64);
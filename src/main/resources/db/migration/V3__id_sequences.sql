@@ -0,0 +1,8 @@
+-- Next unallocated value of each business number sequence (for example CLM-20240115).
+-- Rows are created on first use, so the table starts empty.
+
+create table id_sequences (
+    next_value bigint not null,
+    sequence_name varchar(50) not null,
+    primary key (sequence_name)
+) engine=InnoDB;
@@ -0,0 +1,3 @@
+-- Lets the scheduled expiry job find due ACTIVE enrollments without scanning the table.
+
+create index idx_enrollment_status_end_date on policy_enrollments (enrollment_status, end_date);
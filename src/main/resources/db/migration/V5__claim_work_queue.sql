@@ -0,0 +1,6 @@
+-- Adjuster work queue: a lease on claims handed out to an adjuster, and the index the queue
+-- scans for PENDING claims oldest first.
+
+alter table claims add column lease_expires_at datetime(6);
+
+create index idx_claim_status_created_date on claims (claim_status, created_date);
@@ -0,0 +1,30 @@
+-- Secondary indexes for the repository queries that run on every page load or scheduled job.
+-- InnoDB appends the primary key to every secondary index, so (x, created_date) also orders by
+-- (created_date, claim_id) for the keyset pagination in ClaimRepository.
+-- DocumentRepository only filters on foreign key columns, which InnoDB already indexes.
+
+-- claims: unassigned/pending queues and status transitions filtered by adjuster
+create index idx_claim_status_adjuster on claims (claim_status, adjuster_id);
+
+-- claims: per-role claim lists, newest first
+create index idx_claim_claimant_created on claims (claimant_id, created_date);
+create index idx_claim_agent_created on claims (agent_id, created_date);
+create index idx_claim_adjuster_created on claims (adjuster_id, created_date);
+
+-- claims: unfiltered admin list, newest first
+create index idx_claim_created_date on claims (created_date);
+
+-- claims: expired work queue lease sweep
+create index idx_claim_status_lease on claims (claim_status, lease_expires_at);
+
+-- policy_enrollments: eligibility checks, duplicate enrollment checks and bulk ingest coverage lookup
+create index idx_enrollment_holder_policy_status on policy_enrollments (policyholder_id, policy_id, enrollment_status);
+create index idx_enrollment_policy_status on policy_enrollments (policy_id, enrollment_status);
+
+-- support_tickets: open ticket lists and per-user history
+create index idx_ticket_status_created on support_tickets (ticket_status, created_date);
+create index idx_ticket_user_created on support_tickets (user_id, created_date);
+
+-- users: registration e-mail checks and role lookups
+create index idx_user_email on users (email);
+create index idx_user_role_enabled on users (role, enabled);
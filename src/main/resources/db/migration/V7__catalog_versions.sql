@@ -0,0 +1,10 @@
+-- Version counters for catalogs that every node keeps in memory. A write bumps the counter in its
+-- own transaction, and nodes reload their snapshot when the counter no longer matches theirs.
+
+create table catalog_versions (
+    catalog_name varchar(50) not null,
+    version bigint not null,
+    primary key (catalog_name)
+) engine=InnoDB;
+
+insert into catalog_versions (catalog_name, version) values ('policies', 0);
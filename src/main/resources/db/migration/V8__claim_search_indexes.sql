@@ -0,0 +1,10 @@
+-- Indexes behind the claim search filters that V6 does not already cover.
+-- Status, claimant, agent and adjuster filters use the V6 indexes; amount and text filters are
+-- only accepted together with one of the indexed filters (see ClaimSearchServiceImpl).
+
+-- claims: claim date ranges, alone or for one policy
+create index idx_claim_claim_date on claims (claim_date);
+create index idx_claim_policy_claim_date on claims (policy_id, claim_date);
+
+-- users: claimant name prefix search
+create index idx_user_full_name on users (full_name);
@@ -0,0 +1,166 @@
+package com.hicms.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing between two in-memory H2 databases wired the way ReplicaDataSourceConfig wires them.
+ * Each database answers "SELECT name FROM node" with its own name, and the replica's lag is
+ * read from a replica_status timestamp the test moves back and forth.
+ */
+class ReplicaRoutingDataSourceTest {
+    
+    private static final long MAX_LAG_SECONDS = 5;
+    private static final long STICKINESS_SECONDS = 60;
+    private static final String LAG_QUERY =
+            "SELECT TIMESTAMPDIFF(SECOND, applied_at, CURRENT_TIMESTAMP) FROM replica_status";
+    
+    private HikariDataSource primaryPool;
+    private HikariDataSource replicaPool;
+    private ReplicaRoutingDataSource router;
+    private JdbcTemplate jdbcTemplate;
+    private JdbcTemplate replicaJdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+    
+    @BeforeEach
+    void setUp() {
+        primaryPool = pool("primary", "jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1");
+        replicaPool = pool("replica-1", "jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1");
+        JdbcTemplate primaryJdbcTemplate = new JdbcTemplate(primaryPool);
+        primaryJdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        primaryJdbcTemplate.update("INSERT INTO node (name) VALUES ('primary')");
+        replicaJdbcTemplate = new JdbcTemplate(replicaPool);
+        replicaJdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20))");
+        replicaJdbcTemplate.update("INSERT INTO node (name) VALUES ('replica')");
+        replicaJdbcTemplate.execute("CREATE TABLE replica_status (applied_at TIMESTAMP WITH TIME ZONE)");
+        replicaJdbcTemplate.update("INSERT INTO replica_status (applied_at) VALUES (CURRENT_TIMESTAMP)");
+        
+        router = new ReplicaRoutingDataSource(primaryPool, List.of(replicaPool),
+                MAX_LAG_SECONDS, STICKINESS_SECONDS, LAG_QUERY);
+        router.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(router);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        router.checkReplicas();
+    }
+    
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        new JdbcTemplate(primaryPool).execute("DROP ALL OBJECTS");
+        replicaJdbcTemplate.execute("DROP ALL OBJECTS");
+        router.close();
+    }
+    
+    @Test
+    void readOnlyTransactionsOfASignedInUserGoToTheReplica() {
+        signIn("alice");
+        
+        assertThat(readNode(readOnly)).isEqualTo("replica");
+        assertThat(readNode(readWrite)).isEqualTo("primary");
+    }
+    
+    @Test
+    void readsWithoutAUserGoToThePrimary() {
+        assertThat(readNode(readOnly)).isEqualTo("primary");
+    }
+    
+    @Test
+    void userReadsStayOnThePrimaryAfterTheirOwnCommit() {
+        signIn("alice");
+        readNode(readWrite);
+        
+        assertThat(readNode(readOnly)).isEqualTo("primary");
+        assertThat(router.getStatistics().getStickyReads()).isEqualTo(1);
+        
+        signIn("bob");
+        assertThat(readNode(readOnly)).isEqualTo("replica");
+    }
+    
+    @Test
+    void rolledBackWriteDoesNotMakeTheUserSticky() {
+        signIn("alice");
+        readWrite.executeWithoutResult(status -> {
+            jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+            status.setRollbackOnly();
+        });
+        
+        assertThat(readNode(readOnly)).isEqualTo("replica");
+    }
+    
+    @Test
+    void readsFallBackToThePrimaryWhileTheReplicaLags() {
+        signIn("alice");
+        replicaJdbcTemplate.update("UPDATE replica_status SET applied_at = DATEADD(SECOND, ?, CURRENT_TIMESTAMP)",
+                -(MAX_LAG_SECONDS + 10));
+        router.checkReplicas();
+        
+        assertThat(readNode(readOnly)).isEqualTo("primary");
+        assertThat(router.getStatistics().getFallbackReads()).isEqualTo(1);
+        
+        replicaJdbcTemplate.update("UPDATE replica_status SET applied_at = CURRENT_TIMESTAMP");
+        router.checkReplicas();
+        
+        assertThat(readNode(readOnly)).isEqualTo("replica");
+    }
+    
+    @Test
+    void readFromPrimaryMethodsReadFromThePrimary() {
+        signIn("alice");
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Reloader(this));
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new PrimaryReadAspect());
+        Reloader reloader = factory.getProxy();
+        
+        assertThat(reloader.reload()).isEqualTo("primary");
+        assertThat(readNode(readOnly)).isEqualTo("replica");
+    }
+    
+    private String readNode(TransactionTemplate transaction) {
+        return transaction.execute(status -> jdbcTemplate.queryForObject("SELECT name FROM node", String.class));
+    }
+    
+    private static void signIn(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(username, null, List.of()));
+    }
+    
+    private static HikariDataSource pool(String name, String url) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(name);
+        pool.setJdbcUrl(url);
+        pool.setUsername("sa");
+        pool.setMaximumPoolSize(2);
+        return pool;
+    }
+    
+    static class Reloader {
+        
+        private final ReplicaRoutingDataSourceTest test;
+        
+        Reloader(ReplicaRoutingDataSourceTest test) {
+            this.test = test;
+        }
+        
+        @ReadFromPrimary
+        public String reload() {
+            return test.readNode(test.readOnly);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.hicms.repository;
+
+import com.hicms.dto.ClaimDTO;
+import com.hicms.entity.Claim;
+import com.hicms.entity.ClaimStatus;
+import com.hicms.entity.Policy;
+import com.hicms.entity.Role;
+import com.hicms.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The CLAIM_DTO_SELECT finders load a claim list, with its policy and all four users, in one
+ * statement whatever the number of claims.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ClaimDtoQueryTest {
+    
+    @Autowired
+    private ClaimRepository claimRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private PolicyRepository policyRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private RepositoryTestData data;
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        data = new RepositoryTestData(userRepository, policyRepository, claimRepository);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+    
+    @ParameterizedTest(name = "{0} claims")
+    @ValueSource(ints = {1, 25})
+    void participantFindersIssueOneStatement(int count) {
+        Policy policy = data.policy();
+        User claimant = data.user(Role.USER);
+        User agent = data.user(Role.AGENT);
+        User adjuster = data.user(Role.CLAIM_ADJUSTER);
+        List<Long> claimIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // Half assigned, so the LEFT JOINs see both present and missing users
+            Claim claim = data.claim(policy, claimant, agent, i % 2 == 0 ? adjuster : null, null, ClaimStatus.PENDING);
+            claimIds.add(claim.getClaimId());
+        }
+        int assigned = (count + 1) / 2;
+        
+        List<ClaimDTO> byClaimant = statements(() -> claimRepository.findClaimDTOsByClaimant(claimant.getUserId()));
+        assertThat(byClaimant).hasSize(count)
+                .allSatisfy(dto -> {
+                    assertThat(dto.getPolicyNumber()).isEqualTo(policy.getPolicyNumber());
+                    assertThat(dto.getClaimantName()).isEqualTo(claimant.getFullName());
+                    assertThat(dto.getAgentName()).isEqualTo(agent.getFullName());
+                });
+        
+        assertThat(statements(() -> claimRepository.findClaimDTOsByAgent(agent.getUserId()))).hasSize(count);
+        assertThat(statements(() -> claimRepository.findClaimDTOsByAdjuster(adjuster.getUserId()))).hasSize(assigned)
+                .allSatisfy(dto -> assertThat(dto.getAdjusterName()).isEqualTo(adjuster.getFullName()));
+        assertThat(statements(() -> claimRepository.findClaimDTOsByIds(claimIds)))
+                .extracting(ClaimDTO::getClaimId).containsExactlyElementsOf(claimIds);
+    }
+    
+    @ParameterizedTest(name = "{0} claims")
+    @ValueSource(ints = {1, 25})
+    void queueFindersIssueOneStatement(int count) {
+        Policy policy = data.policy();
+        User claimant = data.user(Role.USER);
+        for (int i = 0; i < count; i++) {
+            data.claim(policy, claimant, ClaimStatus.PENDING);
+        }
+        
+        // Other tests share the database, so these lists hold at least this test's claims
+        assertThat(statements(claimRepository::findPendingClaimDTOs)).hasSizeGreaterThanOrEqualTo(count);
+        assertThat(statements(claimRepository::findUnassignedClaimDTOs)).hasSizeGreaterThanOrEqualTo(count);
+        assertThat(statements(() -> claimRepository.findRecentPendingClaimDTOs(PageRequest.of(0, count))))
+                .hasSize(count);
+    }
+    
+    private <T> T statements(Supplier<T> query) {
+        statistics.clear();
+        T result = query.get();
+        assertThat(statistics.getPrepareStatementCount()).as("statements").isEqualTo(1);
+        return result;
+    }
+}
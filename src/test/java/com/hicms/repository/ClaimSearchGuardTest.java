@@ -0,0 +1,95 @@
+package com.hicms.repository;
+
+import com.hicms.dto.ClaimSearchCriteriaDTO;
+import com.hicms.dto.ClaimSearchCriteriaDTO.SortField;
+import com.hicms.entity.ClaimStatus;
+import com.hicms.service.ClaimSearchService;
+import com.hicms.service.impl.ClaimSearchServiceImpl;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Which filter combinations the claim search runs and which it refuses because no index
+ * narrows them (see ClaimSearchServiceImpl). Accepted searches run against the migrated
+ * schema, with date ranges capped at 92 days.
+ */
+@DataJpaTest(properties = "app.claims.search.max-date-range-days=92")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(ClaimSearchServiceImpl.class)
+class ClaimSearchGuardTest {
+    
+    private static final LocalDate FROM = LocalDate.of(2026, 1, 1);
+    
+    @Autowired
+    private ClaimSearchService claimSearchService;
+    
+    static Stream<Arguments> accepted() {
+        return Stream.of(
+                Arguments.of("policy", ClaimSearchCriteriaDTO.builder().policyId(1L).build()),
+                Arguments.of("claimant", ClaimSearchCriteriaDTO.builder().claimantId(1L).build()),
+                Arguments.of("claimant name", ClaimSearchCriteriaDTO.builder().claimantName("Test").build()),
+                Arguments.of("agent", ClaimSearchCriteriaDTO.builder().agentId(1L).build()),
+                Arguments.of("adjuster", ClaimSearchCriteriaDTO.builder().adjusterId(1L).build()),
+                Arguments.of("policy with a wide date range", ClaimSearchCriteriaDTO.builder().policyId(1L)
+                        .claimDateFrom(LocalDate.of(1900, 1, 1)).claimDateTo(LocalDate.of(2100, 1, 1)).build()),
+                Arguments.of("adjuster sorted by amount with amount and text filters", ClaimSearchCriteriaDTO.builder()
+                        .adjusterId(1L).minAmount(BigDecimal.ONE).text("treatment").sort(SortField.CLAIM_AMOUNT).build()),
+                Arguments.of("one day", ClaimSearchCriteriaDTO.builder().claimDateFrom(FROM).claimDateTo(FROM).build()),
+                Arguments.of("92 days", ClaimSearchCriteriaDTO.builder()
+                        .claimDateFrom(FROM).claimDateTo(FROM.plusDays(91)).build()),
+                Arguments.of("92 days sorted by amount", ClaimSearchCriteriaDTO.builder()
+                        .claimDateFrom(FROM).claimDateTo(FROM.plusDays(91)).sort(SortField.CLAIM_AMOUNT).build()),
+                Arguments.of("one status", ClaimSearchCriteriaDTO.builder().statuses(Set.of(ClaimStatus.PENDING)).build()),
+                Arguments.of("one status oldest first", ClaimSearchCriteriaDTO.builder()
+                        .statuses(Set.of(ClaimStatus.PENDING)).direction(Sort.Direction.ASC).build()));
+    }
+    
+    static Stream<Arguments> rejected() {
+        return Stream.of(
+                Arguments.of("no filter", ClaimSearchCriteriaDTO.builder().build()),
+                Arguments.of("blank claimant name", ClaimSearchCriteriaDTO.builder().claimantName(" ").build()),
+                Arguments.of("amount only", ClaimSearchCriteriaDTO.builder()
+                        .minAmount(BigDecimal.ONE).maxAmount(BigDecimal.TEN).build()),
+                Arguments.of("text only", ClaimSearchCriteriaDTO.builder().text("treatment").build()),
+                Arguments.of("date from only", ClaimSearchCriteriaDTO.builder().claimDateFrom(FROM).build()),
+                Arguments.of("date to only", ClaimSearchCriteriaDTO.builder().claimDateTo(FROM).build()),
+                Arguments.of("93 days", ClaimSearchCriteriaDTO.builder()
+                        .claimDateFrom(FROM).claimDateTo(FROM.plusDays(92)).build()),
+                Arguments.of("1900 to 2100", ClaimSearchCriteriaDTO.builder()
+                        .claimDateFrom(LocalDate.of(1900, 1, 1)).claimDateTo(LocalDate.of(2100, 1, 1)).build()),
+                Arguments.of("two statuses", ClaimSearchCriteriaDTO.builder()
+                        .statuses(Set.of(ClaimStatus.PENDING, ClaimStatus.UNDER_REVIEW)).build()),
+                Arguments.of("one status sorted by amount", ClaimSearchCriteriaDTO.builder()
+                        .statuses(Set.of(ClaimStatus.PENDING)).sort(SortField.CLAIM_AMOUNT).build()),
+                Arguments.of("reversed date range", ClaimSearchCriteriaDTO.builder()
+                        .claimDateFrom(FROM.plusDays(1)).claimDateTo(FROM).build()),
+                Arguments.of("too deep", ClaimSearchCriteriaDTO.builder().policyId(1L).page(10_001).size(1).build()));
+    }
+    
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("accepted")
+    void runsSearchesAnIndexCanNarrow(String name, ClaimSearchCriteriaDTO criteria) {
+        assertThat(claimSearchService.searchClaims(criteria).getClaims()).isNotNull();
+    }
+    
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("rejected")
+    void refusesUnboundedOrInvalidSearches(String name, ClaimSearchCriteriaDTO criteria) {
+        assertThatIllegalArgumentException().isThrownBy(() -> claimSearchService.searchClaims(criteria));
+    }
+}
@@ -0,0 +1,244 @@
+package com.hicms.repository;
+
+import com.hicms.entity.Claim;
+import com.hicms.entity.ClaimStatus;
+import com.hicms.entity.Policy;
+import com.hicms.entity.Role;
+import com.hicms.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Conditional claim transitions under concurrent reviewers: every claim is decided exactly
+ * once, the recorded decision and adjuster are the winner's, and a review costs one
+ * statement where the former load-modify-save path needed a read and a write.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ClaimTransitionConcurrencyTest {
+    
+    private static final int CLAIMS = 200;
+    private static final int ADJUSTERS = 4;
+    private static final int THREADS = 16;
+    
+    @Autowired
+    private ClaimRepository claimRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private PolicyRepository policyRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private RepositoryTestData data;
+    private TransactionTemplate transaction;
+    private Policy policy;
+    private User claimant;
+    private List<User> adjusters;
+    
+    @BeforeEach
+    void setUp() {
+        data = new RepositoryTestData(userRepository, policyRepository, claimRepository);
+        transaction = new TransactionTemplate(transactionManager);
+        policy = data.policy();
+        claimant = data.user(Role.USER);
+        adjusters = new ArrayList<>();
+        for (int i = 0; i < ADJUSTERS; i++) {
+            adjusters.add(data.user(Role.CLAIM_ADJUSTER));
+        }
+    }
+    
+    @Test
+    void concurrentReviewsDecideEveryClaimExactlyOnce() throws Exception {
+        List<Long> claimIds = pendingClaims(CLAIMS);
+        Map<Long, List<Decision>> wins = new ConcurrentHashMap<>();
+        
+        long elapsed = runConcurrently(reviewsOfEveryClaim(claimIds), (claimId, decision) -> {
+            Integer updated = transaction.execute(status -> claimRepository.reviewClaim(claimId, decision.adjuster(),
+                    ClaimStatus.sourcesOf(decision.status()), decision.status(), decision.approvedAmount(),
+                    "Decided by " + decision.adjuster().getUsername(), LocalDateTime.now()));
+            if (updated != null && updated > 0) {
+                wins.computeIfAbsent(claimId, key -> Collections.synchronizedList(new ArrayList<>())).add(decision);
+            }
+        });
+        
+        assertThat(wins).hasSize(CLAIMS);
+        for (Long claimId : claimIds) {
+            assertThat(wins.get(claimId)).as("winners of claim %d", claimId).hasSize(1);
+            Decision winner = wins.get(claimId).get(0);
+            Claim claim = transaction.execute(status -> {
+                Claim loaded = claimRepository.findById(claimId).orElseThrow();
+                loaded.getAdjuster().getUserId();
+                return loaded;
+            });
+            assertThat(claim.getClaimStatus()).isEqualTo(winner.status());
+            assertThat(claim.getAdjuster().getUserId()).isEqualTo(winner.adjuster().getUserId());
+            assertThat(claim.getRemarks()).isEqualTo("Decided by " + winner.adjuster().getUsername());
+        }
+        
+        System.out.printf("Conditional reviews: %d attempts in %d ms (%.0f/s)%n", CLAIMS * ADJUSTERS, elapsed,
+                CLAIMS * ADJUSTERS * 1000.0 / Math.max(elapsed, 1));
+    }
+    
+    @Test
+    void conditionalReviewOutpacesLoadModifySave() throws Exception {
+        List<Long> conditionalClaims = pendingClaims(CLAIMS);
+        List<Long> legacyClaims = pendingClaims(CLAIMS);
+        
+        long conditional = runConcurrently(reviewsOfEveryClaim(conditionalClaims), (claimId, decision) ->
+                transaction.execute(status -> claimRepository.reviewClaim(claimId, decision.adjuster(),
+                        ClaimStatus.sourcesOf(decision.status()), decision.status(), decision.approvedAmount(),
+                        null, LocalDateTime.now())));
+        
+        // The pre-change path: read the claim, check the transition in memory, write it back
+        AtomicInteger legacyWins = new AtomicInteger();
+        long legacy = runConcurrently(reviewsOfEveryClaim(legacyClaims), (claimId, decision) ->
+                transaction.executeWithoutResult(status -> {
+                    Claim claim = claimRepository.findById(claimId).orElseThrow();
+                    if (claim.getClaimStatus().canTransitionTo(decision.status())) {
+                        claim.setClaimStatus(decision.status());
+                        claim.setAdjuster(decision.adjuster());
+                        claim.setApprovedAmount(decision.approvedAmount());
+                        claimRepository.save(claim);
+                        legacyWins.incrementAndGet();
+                    }
+                }));
+        
+        System.out.printf("Conditional: %d ms, load-modify-save: %d ms for %d reviews of %d claims; "
+                        + "load-modify-save reported %d winners (lost updates above %d)%n",
+                conditional, legacy, CLAIMS * ADJUSTERS, CLAIMS, legacyWins.get(), CLAIMS);
+        
+        // Wall-clock speed depends on the machine, the statement count per review does not
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Long claimId = pendingClaims(1).get(0);
+        Long legacyClaimId = pendingClaims(1).get(0);
+        User adjuster = adjusters.get(0);
+        
+        statistics.clear();
+        transaction.execute(status -> claimRepository.reviewClaim(claimId, adjuster,
+                ClaimStatus.sourcesOf(ClaimStatus.APPROVED), ClaimStatus.APPROVED, BigDecimal.TEN, null,
+                LocalDateTime.now()));
+        long conditionalStatements = statistics.getPrepareStatementCount();
+        
+        statistics.clear();
+        transaction.executeWithoutResult(status -> {
+            Claim claim = claimRepository.findById(legacyClaimId).orElseThrow();
+            claim.setClaimStatus(ClaimStatus.APPROVED);
+            claim.setAdjuster(adjuster);
+            claimRepository.save(claim);
+        });
+        long legacyStatements = statistics.getPrepareStatementCount();
+        
+        assertThat(conditionalStatements).isEqualTo(1);
+        assertThat(legacyStatements).isGreaterThanOrEqualTo(2);
+    }
+    
+    @Test
+    void reviewIsRefusedWhileAnotherAdjusterHoldsTheClaim() {
+        User holder = adjusters.get(0);
+        User other = adjusters.get(1);
+        LocalDateTime now = LocalDateTime.now();
+        
+        Long underReview = data.claim(policy, claimant, null, holder, null, ClaimStatus.UNDER_REVIEW).getClaimId();
+        assertThat(review(underReview, other, now)).isZero();
+        assertThat(review(underReview, holder, now)).isEqualTo(1);
+        
+        Long leased = data.claim(policy, claimant, null, holder, now.plusMinutes(30), ClaimStatus.PENDING).getClaimId();
+        assertThat(review(leased, other, now)).isZero();
+        
+        Long expired = data.claim(policy, claimant, null, holder, now.minusMinutes(1), ClaimStatus.PENDING).getClaimId();
+        assertThat(review(expired, other, now)).isEqualTo(1);
+    }
+    
+    private int review(Long claimId, User adjuster, LocalDateTime now) {
+        Integer updated = transaction.execute(status -> claimRepository.reviewClaim(claimId, adjuster,
+                ClaimStatus.sourcesOf(ClaimStatus.REJECTED), ClaimStatus.REJECTED, null, "Not covered", now));
+        return updated == null ? 0 : updated;
+    }
+    
+    private List<Long> pendingClaims(int count) {
+        List<Long> claimIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            claimIds.add(data.claim(policy, claimant, ClaimStatus.PENDING).getClaimId());
+        }
+        return claimIds;
+    }
+    
+    /**
+     * Every adjuster reviews every claim, half approving and half rejecting, in random order
+     */
+    private List<Map.Entry<Long, Decision>> reviewsOfEveryClaim(List<Long> claimIds) {
+        List<Map.Entry<Long, Decision>> reviews = new ArrayList<>();
+        for (Long claimId : claimIds) {
+            for (int i = 0; i < adjusters.size(); i++) {
+                ClaimStatus status = i % 2 == 0 ? ClaimStatus.APPROVED : ClaimStatus.REJECTED;
+                reviews.add(Map.entry(claimId, new Decision(adjusters.get(i), status,
+                        status == ClaimStatus.APPROVED ? new BigDecimal("1000.00") : null)));
+            }
+        }
+        Collections.shuffle(reviews, new Random(42));
+        return reviews;
+    }
+    
+    /**
+     * Runs the reviews on THREADS threads and returns the elapsed milliseconds
+     */
+    private long runConcurrently(List<Map.Entry<Long, Decision>> reviews, ReviewAction action) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> tasks = reviews.stream().<Callable<Void>>map(review -> () -> {
+                action.review(review.getKey(), review.getValue());
+                return null;
+            }).toList();
+            long start = System.nanoTime();
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+            return (System.nanoTime() - start) / 1_000_000;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private record Decision(User adjuster, ClaimStatus status, BigDecimal approvedAmount) {
+    }
+    
+    @FunctionalInterface
+    private interface ReviewAction {
+        void review(Long claimId, Decision decision);
+    }
+}
@@ -0,0 +1,224 @@
+package com.hicms.repository;
+
+import com.hicms.dto.ClaimDTO;
+import com.hicms.entity.Claim;
+import com.hicms.entity.ClaimStatus;
+import com.hicms.entity.Policy;
+import com.hicms.entity.Role;
+import com.hicms.entity.User;
+import com.hicms.service.ClaimDistributionPolicy;
+import com.hicms.service.ClaimWorkQueueService;
+import com.hicms.service.impl.ClaimWorkQueueServiceImpl;
+import com.hicms.service.impl.OldestFirstDistributionPolicy;
+import com.hicms.service.impl.RoundRobinDistributionPolicy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Work queue leasing under concurrent adjusters: SKIP LOCKED hands every claim to exactly one
+ * adjuster, a lease request does not wait on rows another request has locked, and expired
+ * leases go back to the queue. The service is built around the real repository and run in
+ * a transaction per call, as its @Transactional proxy would.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ClaimWorkQueueConcurrencyTest {
+
+    private static final int CLAIMS = 200;
+    private static final int ADJUSTERS = 4;
+    private static final int THREADS = 8;
+    private static final int LEASE_COUNT = 5;
+    
+    @Autowired
+    private ClaimRepository claimRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private PolicyRepository policyRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    private RepositoryTestData data;
+    private TransactionTemplate transaction;
+    private Policy policy;
+    private User claimant;
+    private List<User> adjusters;
+    
+    @BeforeEach
+    void setUp() {
+        data = new RepositoryTestData(userRepository, policyRepository, claimRepository);
+        transaction = new TransactionTemplate(transactionManager);
+        policy = data.policy();
+        claimant = data.user(Role.USER);
+        adjusters = new ArrayList<>();
+        for (int i = 0; i < ADJUSTERS; i++) {
+            adjusters.add(data.user(Role.CLAIM_ADJUSTER));
+        }
+    }
+    
+    @Test
+    void concurrentLeasesNeverHandOutAClaimTwice() throws Exception {
+        List<Long> claimIds = pendingClaims(CLAIMS);
+        ClaimWorkQueueService queue = queue(new RoundRobinDistributionPolicy(userRepository));
+        Map<Long, List<Long>> leasedBy = new ConcurrentHashMap<>();
+        
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> tasks = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                Long adjusterId = adjusters.get(i % ADJUSTERS).getUserId();
+                tasks.add(() -> {
+                    leaseUntilEmpty(queue, adjusterId, leasedBy);
+                    return null;
+                });
+            }
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        // A puller that found only rows locked by others stops early; whatever it skipped is still available
+        leaseUntilEmpty(queue, adjusters.get(0).getUserId(), leasedBy);
+        
+        leasedBy.forEach((claimId, holders) -> assertThat(holders).as("leases of claim %d", claimId).hasSize(1));
+        for (Long claimId : claimIds) {
+            assertThat(leasedBy).containsKey(claimId);
+            assertThat(holderOf(claimId)).isEqualTo(leasedBy.get(claimId).get(0));
+        }
+    }
+    
+    @Test
+    void secondAdjusterSkipsTheClaimsTheFirstHasLocked() throws Exception {
+        List<Long> claimIds = pendingClaims(2 * LEASE_COUNT);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ClaimWorkQueueService blockingQueue = queue(new OldestFirstDistributionPolicy() {
+            @Override
+            public List<Long> select(Long adjusterId, int allowance, IntFunction<List<Long>> lockCandidates) {
+                List<Long> candidates = lockCandidates.apply(allowance);
+                locked.countDown();
+                try {
+                    finish.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return candidates;
+            }
+        });
+        ClaimWorkQueueService queue = queue(new OldestFirstDistributionPolicy());
+        Long firstId = adjusters.get(0).getUserId();
+        Long secondId = adjusters.get(1).getUserId();
+        Map<Long, List<Long>> leasedBy = new ConcurrentHashMap<>();
+        
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<Long>> first = executor.submit(() -> lease(blockingQueue, firstId, leasedBy));
+            assertThat(locked.await(30, TimeUnit.SECONDS)).isTrue();
+            
+            // Runs while the first transaction holds its row locks; waiting on them would end in a
+            // lock timeout. H2 applies the LIMIT before it skips locked rows, so here the request may
+            // come back short where MySQL reads past the locked rows to the next available ones.
+            List<Long> second = lease(queue, secondId, leasedBy);
+            finish.countDown();
+            
+            assertThat(first.get(30, TimeUnit.SECONDS)).hasSize(LEASE_COUNT);
+            assertThat(second).hasSizeLessThanOrEqualTo(LEASE_COUNT);
+        } finally {
+            finish.countDown();
+            executor.shutdownNow();
+        }
+        
+        leaseUntilEmpty(queue, secondId, leasedBy);
+        leasedBy.forEach((claimId, holders) -> assertThat(holders).as("leases of claim %d", claimId).hasSize(1));
+        assertThat(leasedBy).containsKeys(claimIds.toArray(Long[]::new));
+    }
+    
+    @Test
+    void expiredLeasesGoBackToTheQueue() {
+        User holder = adjusters.get(0);
+        User other = adjusters.get(1);
+        LocalDateTime now = LocalDateTime.now();
+        Long live = data.claim(policy, claimant, null, holder, now.plusMinutes(30), ClaimStatus.PENDING).getClaimId();
+        Long expired = data.claim(policy, claimant, null, holder, now.minusMinutes(1), ClaimStatus.PENDING).getClaimId();
+        ClaimWorkQueueService queue = queue(new OldestFirstDistributionPolicy());
+        
+        Map<Long, List<Long>> leasedBy = new ConcurrentHashMap<>();
+        leaseUntilEmpty(queue, other.getUserId(), leasedBy);
+        assertThat(leasedBy).containsKey(expired).doesNotContainKey(live);
+        assertThat(holderOf(expired)).isEqualTo(other.getUserId());
+        assertThat(holderOf(live)).isEqualTo(holder.getUserId());
+        
+        Long swept = data.claim(policy, claimant, null, holder, now.minusMinutes(1), ClaimStatus.PENDING).getClaimId();
+        Integer released = transaction.execute(status -> queue.releaseExpiredLeases());
+        assertThat(released).isPositive();
+        assertThat(holderOf(swept)).isNull();
+        assertThat(holderOf(live)).isEqualTo(holder.getUserId());
+    }
+    
+    private ClaimWorkQueueService queue(ClaimDistributionPolicy distributionPolicy) {
+        return new ClaimWorkQueueServiceImpl(claimRepository, List.of(distributionPolicy), event -> {
+        }, distributionPolicy.getName(), 30, 20);
+    }
+    
+    /**
+     * Leases in one transaction and records which adjuster got each claim
+     */
+    private List<Long> lease(ClaimWorkQueueService queue, Long adjusterId, Map<Long, List<Long>> leasedBy) {
+        List<ClaimDTO> leased = transaction.execute(status -> queue.leaseNextClaims(adjusterId, LEASE_COUNT));
+        List<Long> claimIds = leased.stream().map(ClaimDTO::getClaimId).toList();
+        claimIds.forEach(claimId -> leasedBy.computeIfAbsent(claimId,
+                key -> Collections.synchronizedList(new ArrayList<>())).add(adjusterId));
+        return claimIds;
+    }
+    
+    private void leaseUntilEmpty(ClaimWorkQueueService queue, Long adjusterId, Map<Long, List<Long>> leasedBy) {
+        List<Long> leased;
+        do {
+            leased = lease(queue, adjusterId, leasedBy);
+        } while (!leased.isEmpty());
+    }
+    
+    private Long holderOf(Long claimId) {
+        return transaction.execute(status -> {
+            Claim claim = claimRepository.findById(claimId).orElseThrow();
+            return claim.getAdjuster() == null ? null : claim.getAdjuster().getUserId();
+        });
+    }
+    
+    private List<Long> pendingClaims(int count) {
+        List<Long> claimIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            claimIds.add(data.claim(policy, claimant, ClaimStatus.PENDING).getClaimId());
+        }
+        return claimIds;
+    }
+}
@@ -0,0 +1,19 @@
+package com.hicms.repository;
+
+import org.hibernate.dialect.H2Dialect;
+import java.sql.Types;
+
+/**
+ * H2 dialect for schema validation against the MySQL migrations. H2 in MySQL mode creates
+ * their enum(...) columns as ENUM and reports them as OTHER, where the entities map the
+ * enums as strings; every other column type is compared as usual.
+ */
+public class H2EnumColumnsDialect extends H2Dialect {
+    
+    @Override
+    public boolean equivalentTypes(int typeCode1, int typeCode2) {
+        return super.equivalentTypes(typeCode1, typeCode2)
+                || (typeCode1 == Types.VARCHAR && typeCode2 == Types.OTHER)
+                || (typeCode1 == Types.OTHER && typeCode2 == Types.VARCHAR);
+    }
+}
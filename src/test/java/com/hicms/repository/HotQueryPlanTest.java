@@ -0,0 +1,179 @@
+package com.hicms.repository;
+
+import com.hicms.dto.ClaimSearchCriteriaDTO;
+import com.hicms.entity.ClaimStatus;
+import com.hicms.entity.PolicyEnrollment.EnrollmentStatus;
+import com.hicms.entity.Role;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that every query run on each page load or scheduled job finds an index in the
+ * migrated schema. Each case calls the repository method, captures the SQL Hibernate
+ * sends for it and runs EXPLAIN on that statement with its parameters left unbound.
+ *
+ * Plans come from H2 in MySQL mode, so this proves an index covers each predicate, not
+ * which one MySQL picks on production data. Check those with EXPLAIN against a copy.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.hicms.repository.CapturingStatementInspector")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class HotQueryPlanTest {
+    
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 0, 0);
+    
+    // Any table scan except of policies: the catalog is small enough to be held in memory, and
+    // once other tests have saved rows H2 may drive a claims join from it through the policy index
+    private static final String TABLE_SCAN = "public\\.(?!policies\\.)\\w+\\.tableScan";
+    
+    @Autowired
+    private ClaimRepository claimRepository;
+    
+    @Autowired
+    private PolicyEnrollmentRepository enrollmentRepository;
+    
+    @Autowired
+    private SupportTicketRepository ticketRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private DocumentBlobRepository blobRepository;
+    
+    @Autowired
+    private PolicyRepository policyRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                hotQuery("ClaimRepository.findUnassignedClaims",
+                        test -> test.claimRepository.findUnassignedClaims()),
+                hotQuery("ClaimRepository.countByClaimStatus",
+                        test -> test.claimRepository.countByClaimStatus(ClaimStatus.UNDER_REVIEW)),
+                hotQuery("ClaimRepository.findClaimDTOsByClaimant",
+                        test -> test.claimRepository.findClaimDTOsByClaimant(1L)),
+                hotQuery("ClaimRepository.findClaimDTOsByAgent",
+                        test -> test.claimRepository.findClaimDTOsByAgent(1L)),
+                hotQuery("ClaimRepository.findClaimDTOsByAdjuster",
+                        test -> test.claimRepository.findClaimDTOsByAdjuster(1L)),
+                hotQuery("ClaimRepository.findClaimsFirstPage by status",
+                        test -> test.claimRepository.findClaimsFirstPage(ClaimStatus.PENDING, null, null, null,
+                                PageRequest.of(0, 21))),
+                hotQuery("ClaimRepository.findClaimsAfterCursor by adjuster",
+                        test -> test.claimRepository.findClaimsAfterCursor(null, null, null, 1L, NOW, 100L,
+                                PageRequest.of(0, 21))),
+                hotQuery("ClaimRepository.findClaimsAfterCursor",
+                        test -> test.claimRepository.findClaimsAfterCursor(null, null, null, null, NOW, 100L,
+                                PageRequest.of(0, 21))),
+                hotQuery("ClaimRepository.lockAvailableClaimIds",
+                        test -> test.claimRepository.lockAvailableClaimIds(NOW, 20)),
+                hotQuery("ClaimRepository.releaseExpiredLeases",
+                        test -> test.claimRepository.releaseExpiredLeases(NOW)),
+                hotQuery("ClaimSearchRepository.searchClaims by claim date",
+                        test -> test.claimRepository.searchClaims(ClaimSearchCriteriaDTO.builder()
+                                .claimDateFrom(LocalDate.of(2026, 1, 1))
+                                .claimDateTo(LocalDate.of(2026, 1, 31))
+                                .sort(ClaimSearchCriteriaDTO.SortField.CLAIM_DATE)
+                                .build(), 0, 21)),
+                hotQuery("ClaimSearchRepository.searchClaims by policy and claim date",
+                        test -> test.claimRepository.searchClaims(ClaimSearchCriteriaDTO.builder()
+                                .policyId(1L)
+                                .claimDateFrom(LocalDate.of(2026, 1, 1))
+                                .claimDateTo(LocalDate.of(2026, 1, 31))
+                                .build(), 0, 21)),
+                hotQuery("ClaimSearchRepository.searchClaims by claimant name",
+                        test -> test.claimRepository.searchClaims(ClaimSearchCriteriaDTO.builder()
+                                .claimantName("Jane")
+                                .build(), 0, 21)),
+                hotQuery("PolicyEnrollmentRepository.lockEnrollmentsDueForExpiry",
+                        test -> test.enrollmentRepository.lockEnrollmentsDueForExpiry(LocalDate.of(2026, 1, 1), 500)),
+                hotQuery("PolicyEnrollmentRepository.findByPolicyholderAndPolicy",
+                        test -> test.enrollmentRepository.findByPolicyholderAndPolicy(1L, 1L)),
+                hotQuery("PolicyEnrollmentRepository.findActiveEnrollmentsByUser",
+                        test -> test.enrollmentRepository.findActiveEnrollmentsByUser(1L)),
+                hotQuery("PolicyEnrollmentRepository.findEnrolledCoverage",
+                        test -> test.enrollmentRepository.findEnrolledCoverage(List.of(1L, 2L), List.of(1L, 2L),
+                                List.of(EnrollmentStatus.ACTIVE))),
+                hotQuery("SupportTicketRepository.findRecentOpenTickets",
+                        test -> test.ticketRepository.findRecentOpenTickets(PageRequest.of(0, 10))),
+                hotQuery("SupportTicketRepository.findByUserUserIdOrderByCreatedDateDesc",
+                        test -> test.ticketRepository.findByUserUserIdOrderByCreatedDateDesc(1L)),
+                hotQuery("UserRepository.findByUsername",
+                        test -> test.userRepository.findByUsername("admin")),
+                hotQuery("UserRepository.existsByEmail",
+                        test -> test.userRepository.existsByEmail("admin@hicms.com")),
+                hotQuery("UserRepository.findByRoleAndEnabledTrue",
+                        test -> test.userRepository.findByRoleAndEnabledTrue(Role.CLAIM_ADJUSTER)),
+                hotQuery("DocumentBlobRepository.findReferenceCount",
+                        test -> test.blobRepository.findReferenceCount("abc")),
+                hotQuery("PolicyRepository.findCatalogVersion",
+                        test -> test.policyRepository.findCatalogVersion("policies")));
+    }
+    
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    void hotQueryUsesAnIndex(String query, Consumer<HotQueryPlanTest> call) {
+        CapturingStatementInspector.clear();
+        call.accept(this);
+        List<String> statements = CapturingStatementInspector.statements();
+        
+        assertThat(statements).as("statements of %s", query).isNotEmpty();
+        for (String sql : statements) {
+            assertThat(explain(sql)).as("plan of %s: %s", query, sql).doesNotContainPattern(TABLE_SCAN);
+        }
+    }
+    
+    // H2 plans with the bound values, so each parameter gets a sample of the type H2 inferred for it
+    private String explain(String sql) {
+        return jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                ParameterMetaData parameters = statement.getParameterMetaData();
+                for (int i = 1; i <= parameters.getParameterCount(); i++) {
+                    statement.setObject(i, sampleValue(parameters.getParameterType(i)));
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            }
+        });
+    }
+    
+    private static Object sampleValue(int sqlType) {
+        return switch (sqlType) {
+            case Types.DATE -> LocalDate.of(2026, 1, 1);
+            case Types.TIMESTAMP, Types.TIMESTAMP_WITH_TIMEZONE -> NOW;
+            case Types.BOOLEAN -> Boolean.TRUE;
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT, Types.NUMERIC, Types.DECIMAL -> 1;
+            default -> "A";
+        };
+    }
+    
+    private static Arguments hotQuery(String name, Consumer<HotQueryPlanTest> call) {
+        return Arguments.of(name, call);
+    }
+}
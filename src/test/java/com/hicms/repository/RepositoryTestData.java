@@ -0,0 +1,75 @@
+package com.hicms.repository;
+
+import com.hicms.entity.Claim;
+import com.hicms.entity.ClaimStatus;
+import com.hicms.entity.Policy;
+import com.hicms.entity.PolicyStatus;
+import com.hicms.entity.Role;
+import com.hicms.entity.User;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Saves the rows a repository test works on, each in its own committed transaction.
+ * Unique values carry a per-instance prefix because every test in the JVM shares one
+ * embedded database.
+ */
+class RepositoryTestData {
+    
+    private final UserRepository userRepository;
+    private final PolicyRepository policyRepository;
+    private final ClaimRepository claimRepository;
+    private final String prefix = UUID.randomUUID().toString().substring(0, 8);
+    private final AtomicInteger sequence = new AtomicInteger();
+    
+    RepositoryTestData(UserRepository userRepository, PolicyRepository policyRepository,
+                       ClaimRepository claimRepository) {
+        this.userRepository = userRepository;
+        this.policyRepository = policyRepository;
+        this.claimRepository = claimRepository;
+    }
+    
+    User user(Role role) {
+        String username = prefix + "-" + role.name().toLowerCase() + "-" + sequence.incrementAndGet();
+        return userRepository.save(User.builder()
+                .username(username)
+                .password("{noop}test")
+                .email(username + "@hicms.com")
+                .fullName("Test " + username)
+                .role(role)
+                .build());
+    }
+    
+    Policy policy() {
+        return policyRepository.save(Policy.builder()
+                .policyNumber("POL-" + prefix + "-" + sequence.incrementAndGet())
+                .policyName("Test Health Plan")
+                .coverageAmount(new BigDecimal("100000.00"))
+                .premiumAmount(new BigDecimal("250.00"))
+                .durationMonths(12)
+                .policyStatus(PolicyStatus.ACTIVE)
+                .build());
+    }
+    
+    Claim claim(Policy policy, User claimant, ClaimStatus status) {
+        return claim(policy, claimant, null, null, null, status);
+    }
+    
+    Claim claim(Policy policy, User claimant, User agent, User adjuster, LocalDateTime leaseExpiresAt,
+                ClaimStatus status) {
+        return claimRepository.save(Claim.builder()
+                .claimNumber("CLM-" + prefix + "-" + sequence.incrementAndGet())
+                .policy(policy)
+                .claimant(claimant)
+                .agent(agent)
+                .adjuster(adjuster)
+                .leaseExpiresAt(leaseExpiresAt)
+                .claimAmount(new BigDecimal("1250.00"))
+                .description("Outpatient treatment")
+                .reason("Treatment")
+                .claimStatus(status)
+                .build());
+    }
+}
@@ -0,0 +1,32 @@
+package com.hicms.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Boots Hibernate with ddl-auto=validate against the schema Flyway builds from the
+ * migrations, so an entity mapping that drifts from V1-V8 fails here rather than at
+ * production startup. The other repository tests skip validation (ddl-auto=none).
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=validate",
+        "spring.jpa.properties.hibernate.dialect=com.hicms.repository.H2EnumColumnsDialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class SchemaValidationTest {
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    @Test
+    void entitiesMatchTheMigratedSchema() {
+        assertThat(entityManagerFactory.getMetamodel().getEntities()).isNotEmpty();
+    }
+}